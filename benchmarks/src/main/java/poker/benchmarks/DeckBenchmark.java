@@ -0,0 +1,42 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import poker.models.Deck;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    @Param({"2", "6", "10"})
+    private int players;
+
+    private Deck deck;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck(new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public void shuffle() {
+        deck.shuffle();
+    }
+
+    // Everything one hand needs: two hole cards per player plus a five-card board
+    @Benchmark
+    public int shuffleAndDealHand() {
+        deck.shuffle();
+        int ids = 0;
+        for (int i = 0; i < players * 2 + 5; i++) {
+            ids += deck.deal().getId();
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,64 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import poker.models.Card;
+import poker.models.HandEvaluator;
+import poker.models.HandRange;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandEvaluatorBenchmark {
+
+    private List<List<Card>> holeCards;
+    private List<List<Card>> opponents;
+    private List<List<Card>> boards;
+    private long[] sevenCardMasks;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        holeCards = Hands.holeCards(1);
+        opponents = Hands.holeCards(2);
+        boards = Hands.boards(3);
+        sevenCardMasks = Hands.sevenCardMasks(4);
+    }
+
+    private int next() {
+        index = (index + 1) & (Hands.COUNT - 1);
+        return index;
+    }
+
+    @Benchmark
+    public int compareHands() {
+        int i = next();
+        return HandEvaluator.compareHands(holeCards.get(i), opponents.get(i));
+    }
+
+    @Benchmark
+    public int evaluateHand() {
+        return HandEvaluator.evaluateHand(holeCards.get(next()));
+    }
+
+    @Benchmark
+    public double getHandRangeValue() {
+        return HandRange.getHandRangeValue(holeCards.get(next()));
+    }
+
+    @Benchmark
+    public int evaluateSevenCardMask() {
+        return HandEvaluator.evaluate(sevenCardMasks[next()]);
+    }
+
+    @Benchmark
+    public int evaluateShowdown() {
+        int i = next();
+        return HandEvaluator.evaluateShowdown(holeCards.get(i), boards.get(i));
+    }
+}
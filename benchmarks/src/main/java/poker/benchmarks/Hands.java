@@ -0,0 +1,49 @@
+package poker.benchmarks;
+
+import poker.models.Card;
+import poker.models.Deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Pre-dealt hands shared by the benchmarks so dealing is not part of what they measure
+final class Hands {
+
+    static final int COUNT = 1024; // power of two so benchmarks can wrap with a mask
+
+    private Hands() {
+    }
+
+    static List<List<Card>> holeCards(long seed) {
+        Deck deck = new Deck(new SplittableRandom(seed));
+        List<List<Card>> hands = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            deck.shuffle();
+            hands.add(List.of(deck.deal(), deck.deal()));
+        }
+        return hands;
+    }
+
+    static List<List<Card>> boards(long seed) {
+        Deck deck = new Deck(new SplittableRandom(seed));
+        List<List<Card>> boards = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            deck.shuffle();
+            boards.add(List.of(deck.deal(), deck.deal(), deck.deal(), deck.deal(), deck.deal()));
+        }
+        return boards;
+    }
+
+    static long[] sevenCardMasks(long seed) {
+        Deck deck = new Deck(new SplittableRandom(seed));
+        long[] masks = new long[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            deck.shuffle();
+            for (int c = 0; c < 7; c++) {
+                masks[i] |= deck.deal().getMask();
+            }
+        }
+        return masks;
+    }
+}
@@ -0,0 +1,40 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import poker.models.Card;
+import poker.models.PokerAI;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PokerAIBenchmark {
+
+    private PokerAI[] players;
+    private List<Card> communityCards;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        List<List<Card>> holeCards = Hands.holeCards(5);
+        players = new PokerAI[Hands.COUNT];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new PokerAI("AI Player " + i, 1000, 50, 50, 50, 50);
+            players[i].addCardToHand(holeCards.get(i).get(0));
+            players[i].addCardToHand(holeCards.get(i).get(1));
+        }
+        communityCards = new ArrayList<>();
+    }
+
+    @Benchmark
+    public String decideAction() {
+        index = (index + 1) & (Hands.COUNT - 1);
+        return players[index].decideAction(20, 30, index % 6, communityCards);
+    }
+}
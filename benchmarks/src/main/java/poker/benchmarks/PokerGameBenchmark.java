@@ -0,0 +1,45 @@
+package poker.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import poker.models.PokerAI;
+import poker.models.PokerGame;
+import poker.sim.HeadlessSimulator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// One full hand cycle: startNewHand, blinds, every betting round, showdown and chip transfer
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PokerGameBenchmark {
+
+    private static final int STARTING_CHIPS = 1000;
+
+    @Param({"2", "6", "10"})
+    private int players;
+
+    private PokerGame game;
+    private List<PokerAI> seats;
+
+    @Setup
+    public void setUp() {
+        HeadlessSimulator simulator = HeadlessSimulator.withRandomPlayers(players, STARTING_CHIPS, 10, 20, 7);
+        game = simulator.getGame();
+        seats = simulator.getPlayers();
+    }
+
+    @Benchmark
+    public int playHand() {
+        for (int i = 0; i < seats.size(); i++) {
+            if (seats.get(i).getChips() == 0) {
+                seats.get(i).addChips(STARTING_CHIPS);
+            }
+        }
+        game.playHand();
+        return game.getPot();
+    }
+}
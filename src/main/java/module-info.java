@@ -2,10 +2,15 @@ module poker {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.json; // Add this line to require the JSON API module
+    requires java.net.http;
 
     exports poker;
     exports poker.api;
+    exports poker.history;
+    exports poker.log;
     exports poker.models;
+    exports poker.replay;
+    exports poker.sim;
     exports poker.controllers;
     opens poker.controllers to javafx.fxml;
     opens poker.models to javafx.fxml;
@@ -1,35 +1,73 @@
 package poker;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.Stage;
+import poker.controllers.PokerController;
 import poker.controllers.PokerTableManualDesign;
+import poker.log.GameLog;
+import poker.log.LogLevel;
 
 public class MainApplication extends Application {
 
-    @Override
-    public void start(Stage primaryStage) throws Exception {
-        // Load the FXML file
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/poker/poker-view.fxml"));
-
-
-        AnchorPane root = loader.load(); // Ensure the root matches your FXML layout
+    private static final String LOG_SOURCE = "MainApplication";
 
-        // Add the manually designed poker table (background)
+    @Override
+    public void start(Stage primaryStage) {
+        // Show the bare table straight away; the controls are loaded behind it
         PokerTableManualDesign pokerTable = new PokerTableManualDesign();
-        root.getChildren().add(0, pokerTable.getTableGroup()); // Add as the first element to act as the background
+        AnchorPane placeholder = new AnchorPane(pokerTable.getTableGroup());
 
         // Set up the scene and stage
-        Scene scene = new Scene(root, 800, 600); // Match dimensions to your game design
+        Scene scene = new Scene(placeholder, 800, 600); // Match dimensions to your game design
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                StartupMetrics.markFirstFrame();
+                scene.removePostLayoutPulseListener(this);
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
         primaryStage.setTitle("Poker Game");
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        // Load the FXML off the FX thread; the controller sets up the game on a thread of its own
+        Thread viewLoader = new Thread(() -> {
+            try {
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/poker/poker-view.fxml"));
+                AnchorPane root = loader.load(); // Ensure the root matches your FXML layout
+                PokerController controller = loader.getController();
+                Platform.runLater(() -> {
+                    // The manually designed poker table moves in as the first element, to act as the background
+                    root.getChildren().add(0, pokerTable.getTableGroup());
+                    scene.setRoot(root);
+                    controller.whenReady().whenComplete((ignored, error) -> {
+                        if (error == null) {
+                            StartupMetrics.markInteractive();
+                        } else {
+                            // The controller has logged the cause; without a game there is nothing to play
+                            GameLog.log(LogLevel.ERROR, LOG_SOURCE, "The game could not be set up, exiting");
+                            Platform.exit();
+                        }
+                    });
+                    primaryStage.setOnHidden(event -> controller.shutdown());
+                });
+            } catch (Exception e) {
+                GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Error loading the poker view", e);
+                Platform.exit();
+            }
+        }, "view-loader");
+        viewLoader.setDaemon(true);
+        viewLoader.start();
     }
 
     public static void main(String[] args) {
+        StartupMetrics.start();
+        GameLog.setLevel(LogLevel.INFO); // Show the table's actions on the console
         launch(args);
     }
 }
@@ -0,0 +1,53 @@
+package poker;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
+import java.time.Instant;
+
+/**
+ * Cold-start timings, measured from the start of the JVM process: time to the first frame the window
+ * draws and time until the player can deal. Each is recorded once and logged at INFO, so startup
+ * regressions show up in any console or log capture.
+ */
+public final class StartupMetrics {
+
+    private static final String LOG_SOURCE = "Startup";
+    private static final long PROCESS_START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(System::currentTimeMillis); // when unknown, measure from first use of this class
+
+    private static volatile long timeToFirstFrame = -1;
+    private static volatile long timeToInteractive = -1;
+
+    private StartupMetrics() {
+    }
+
+    // Fixes the start time if the process start time is unavailable; call it first thing in main
+    public static void start() {
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Process started at {}", Instant.ofEpochMilli(PROCESS_START_MILLIS));
+    }
+
+    public static synchronized void markFirstFrame() {
+        if (timeToFirstFrame < 0) {
+            timeToFirstFrame = System.currentTimeMillis() - PROCESS_START_MILLIS;
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "First frame after {} ms", timeToFirstFrame);
+        }
+    }
+
+    public static synchronized void markInteractive() {
+        if (timeToInteractive < 0) {
+            timeToInteractive = System.currentTimeMillis() - PROCESS_START_MILLIS;
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "Interactive after {} ms", timeToInteractive);
+        }
+    }
+
+    // -1 until recorded
+    public static long getTimeToFirstFrameMillis() {
+        return timeToFirstFrame;
+    }
+
+    public static long getTimeToInteractiveMillis() {
+        return timeToInteractive;
+    }
+}
@@ -1,124 +1,136 @@
 package poker.api;
 
-import javax.json.Json;
-import javax.json.JsonArray;
-import javax.json.JsonObject;
-import javax.json.JsonReader;
-import javax.json.JsonString;
-import java.io.OutputStream;
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
 import java.io.StringReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Client for the poker GraphQL API. Requests go through one shared HttpClient, which keeps connections
+ * alive between showdowns and uses HTTP/2 when the server supports it, so a showdown does not pay for a
+ * new TCP (and TLS) handshake. At most maxConcurrentRequests are in flight; further requests wait in a
+ * queue without blocking the caller's thread. Request and response JSON are streamed (see ShowdownJson).
+ */
 public class PokerApiClient {
 
-    private final String apiUrl;
+    private static final String LOG_SOURCE = "PokerApiClient";
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 64;
+
+    private final URI apiUri;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final Semaphore permits;
+    private final Queue<Runnable> waitingRequests = new ConcurrentLinkedQueue<>();
 
     public PokerApiClient(String apiUrl) {
-        this.apiUrl = apiUrl;
+        this(apiUrl, DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT, DEFAULT_MAX_CONCURRENT_REQUESTS);
     }
 
-    private String sendRequest(String jsonBody) throws Exception {
-        URL url = new URL(apiUrl);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+    public PokerApiClient(String apiUrl, Duration connectTimeout, Duration requestTimeout, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be at least 1.");
+        }
+        this.apiUri = URI.create(apiUrl);
+        this.requestTimeout = requestTimeout;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // falls back to HTTP/1.1 when the server doesn't offer h2
+                .connectTimeout(connectTimeout)
+                .build();
+    }
 
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setDoOutput(true);
+    // Posts the body and parses the response into `size` results
+    CompletableFuture<ShowdownJson.Response> sendRequestAsync(ShowdownJson.RequestBody body, int size) {
+        if (GameLog.isEnabled(LogLevel.DEBUG)) {
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Payload Sent to API: {}", body.toString(StandardCharsets.UTF_8));
+        }
+        HttpRequest request = HttpRequest.newBuilder(apiUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.array(), 0, body.size()))
+                .build();
+
+        CompletableFuture<ShowdownJson.Response> result = new CompletableFuture<>();
+        waitingRequests.add(() -> {
+            try {
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                        .whenComplete((response, error) -> {
+                            permits.release();
+                            startWaitingRequests();
+                            if (error != null) {
+                                result.completeExceptionally(error);
+                            } else {
+                                complete(result, response, size);
+                            }
+                        });
+            } catch (RuntimeException e) {
+                permits.release();
+                startWaitingRequests();
+                result.completeExceptionally(e);
+            }
+        });
+        startWaitingRequests();
+        return result;
+    }
 
-        try (OutputStream os = connection.getOutputStream()) {
-            os.write(jsonBody.getBytes(StandardCharsets.UTF_8));
-            os.flush();
+    // Starts queued requests while there are free permits
+    private void startWaitingRequests() {
+        while (!waitingRequests.isEmpty() && permits.tryAcquire()) {
+            Runnable request = waitingRequests.poll();
+            if (request == null) {
+                permits.release();
+            } else {
+                request.run();
+            }
         }
+    }
 
-        int responseCode = connection.getResponseCode();
-        System.out.println("Response Code: " + responseCode);
+    private void complete(CompletableFuture<ShowdownJson.Response> result, HttpResponse<byte[]> response, int size) {
+        int responseCode = response.statusCode();
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Response Code: {}", responseCode);
 
         if (responseCode == 200) {
-            try (Scanner scanner = new Scanner(connection.getInputStream(), StandardCharsets.UTF_8)) {
-                String response = scanner.useDelimiter("\\A").next();
-                System.out.println("Response Payload: " + response);
-                return response;
+            // Decoding to a String up front is cheaper than a stream decoder's 8KB buffers for a 1KB body
+            String payload = new String(response.body(), StandardCharsets.UTF_8);
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Response Payload: {}", payload);
+            try {
+                result.complete(ShowdownJson.parseResponse(new StringReader(payload), size));
+            } catch (RuntimeException e) {
+                GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Failed to parse response", e);
+                result.completeExceptionally(e);
             }
         } else {
-            try (Scanner scanner = new Scanner(connection.getErrorStream(), StandardCharsets.UTF_8)) {
-                String errorResponse = scanner.useDelimiter("\\A").next();
-                System.err.println("Error Response Payload: " + errorResponse);
-                throw new RuntimeException("API request failed with response code: " + responseCode + " and message: " + errorResponse);
-            }
+            String message = new String(response.body(), StandardCharsets.UTF_8);
+            GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Error Response Payload: {}", message);
+            result.completeExceptionally(new RuntimeException("API request failed with response code: " + responseCode
+                    + " and message: " + message));
         }
     }
 
     public Map<String, Object> determineWinner(String playerInput) throws Exception {
-        playerInput = playerInput.replace("\"", "\\\"");
-
-        String mutation = """
-                mutation {
-                    calcWinner(input: { playerInput: "%s" }) {
-                        winners {
-                            id
-                            hand
-                        }
-                        players {
-                            id
-                            hand
-                            handStrength
-                        }
-                    }
-                }
-                """.formatted(playerInput);
-
-        String payload = String.format("{ \"query\": \"%s\" }", mutation.replace("\n", " ").replace("\"", "\\\""));
-        System.out.println("Payload Sent to API: " + payload);
-
-        String response = sendRequest(payload);
-
-        return parseResponse(response);
-    }
-    private Map<String, Object> parseResponse(String response) {
-        Map<String, Object> result = new HashMap<>();
-
-        try (JsonReader jsonReader = Json.createReader(new StringReader(response))) {
-            JsonObject responseJson = jsonReader.readObject();
-
-            // Navigate to "data -> calcWinner -> winners"
-            JsonObject data = responseJson.getJsonObject("data");
-            JsonArray calcWinner = data.getJsonArray("calcWinner");
-
-            if (calcWinner != null && !calcWinner.isEmpty()) {
-                JsonObject calcWinnerObject = calcWinner.getJsonObject(0);
-                JsonArray winners = calcWinnerObject.getJsonArray("winners");
-
-                // Extract winner IDs
-                List<String> winnerIds = new ArrayList<>();
-                for (JsonObject winner : winners.getValuesAs(JsonObject.class)) {
-                    winnerIds.add(winner.getString("id"));
-                }
-                result.put("winners", winnerIds);
-
-                // Extract player details
-                JsonArray players = calcWinnerObject.getJsonArray("players");
-                List<Map<String, Object>> playerDetails = new ArrayList<>();
-                for (JsonObject player : players.getValuesAs(JsonObject.class)) {
-                    Map<String, Object> playerDetail = new HashMap<>();
-                    playerDetail.put("id", player.getString("id"));
-                    playerDetail.put("hand", player.getJsonArray("hand")
-                            .getValuesAs(JsonString.class)
-                            .stream()
-                            .map(JsonString::getString)
-                            .toList());
-                    playerDetail.put("handStrength", player.getInt("handStrength"));
-                    playerDetails.add(playerDetail);
-                }
-                result.put("players", playerDetails);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to parse response: " + e.getMessage());
+        try {
+            return determineWinnerAsync(playerInput).join().toMap();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
         }
-
-        return result;
     }
 
+    // Sends the showdown without blocking; the future completes on one of the HttpClient's threads
+    public CompletableFuture<ShowdownResult> determineWinnerAsync(String playerInput) {
+        return sendRequestAsync(ShowdownJson.writeRequest(playerInput), 1).thenApply(response -> response.resultOrThrow(0));
+    }
 }
@@ -0,0 +1,160 @@
+package poker.api;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces showdowns from many tables into one GraphQL request. Each showdown becomes an aliased
+ * calcWinner field (s0, s1, ...) of a single mutation, with its playerInput passed as a variable. A
+ * batch is sent once it holds maxBatchSize showdowns or maxDelay after its first showdown arrived,
+ * whichever comes first. Each caller gets its own future, completed with its own result or failed on
+ * its own if the service rejected its field.
+ */
+public class ShowdownBatcher implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(5);
+    private static final String LOG_SOURCE = "ShowdownBatcher";
+
+    private final PokerApiClient client;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong batchesSent = new AtomicLong();
+    private final AtomicLong showdownsSent = new AtomicLong();
+
+    // Guarded by this
+    private List<String> pendingInputs = new ArrayList<>();
+    private List<CompletableFuture<ShowdownResult>> pendingResults = new ArrayList<>();
+    private ScheduledFuture<?> pendingFlush;
+    private boolean closed;
+
+    public ShowdownBatcher(PokerApiClient client) {
+        this(client, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY);
+    }
+
+    public ShowdownBatcher(PokerApiClient client, int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1.");
+        }
+        this.client = client;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "showdown-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.timer = executor;
+    }
+
+    // Queues the showdown for the next batch; same result as PokerApiClient.determineWinnerAsync
+    public CompletableFuture<ShowdownResult> determineWinnerAsync(String playerInput) {
+        CompletableFuture<ShowdownResult> result = new CompletableFuture<>();
+        List<String> fullInputs = null;
+        List<CompletableFuture<ShowdownResult>> fullResults = null;
+
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The showdown batcher is closed.");
+            }
+            pendingInputs.add(playerInput);
+            pendingResults.add(result);
+            if (pendingInputs.size() >= maxBatchSize) {
+                fullInputs = pendingInputs;
+                fullResults = pendingResults;
+                takePending();
+            } else if (pendingFlush == null) {
+                pendingFlush = timer.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (fullInputs != null) {
+            send(fullInputs, fullResults);
+        }
+        return result;
+    }
+
+    // Sends whatever is queued now instead of waiting for the batch to fill or the window to close
+    public void flush() {
+        List<String> inputs;
+        List<CompletableFuture<ShowdownResult>> results;
+        synchronized (this) {
+            if (pendingInputs.isEmpty()) {
+                return;
+            }
+            inputs = pendingInputs;
+            results = pendingResults;
+            takePending();
+        }
+        send(inputs, results);
+    }
+
+    public long getBatchesSent() {
+        return batchesSent.get();
+    }
+
+    public long getShowdownsSent() {
+        return showdownsSent.get();
+    }
+
+    // Sends the showdowns still queued and stops the timer; their futures still complete afterwards
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        timer.shutdown();
+    }
+
+    // Starts a new pending batch; caller holds the lock
+    private void takePending() {
+        pendingInputs = new ArrayList<>(maxBatchSize);
+        pendingResults = new ArrayList<>(maxBatchSize);
+        if (pendingFlush != null) {
+            pendingFlush.cancel(false);
+            pendingFlush = null;
+        }
+    }
+
+    private void send(List<String> inputs, List<CompletableFuture<ShowdownResult>> results) {
+        batchesSent.incrementAndGet();
+        showdownsSent.addAndGet(inputs.size());
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Sending {} showdowns in one request", inputs.size());
+
+        CompletableFuture<ShowdownJson.Response> sent;
+        try {
+            sent = client.sendRequestAsync(ShowdownJson.writeBatchRequest(inputs), inputs.size());
+        } catch (RuntimeException e) {
+            // Nothing was sent, so no callback will ever complete these
+            GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Could not send {} showdowns: {}", inputs.size(), e);
+            for (CompletableFuture<ShowdownResult> result : results) {
+                result.completeExceptionally(e);
+            }
+            return;
+        }
+        sent.whenComplete((response, error) -> {
+            for (int i = 0; i < results.size(); i++) {
+                if (error != null) {
+                    results.get(i).completeExceptionally(error);
+                } else if (response.results[i] != null) {
+                    results.get(i).complete(response.results[i]);
+                } else {
+                    results.get(i).completeExceptionally(new RuntimeException("calcWinner failed for showdown \""
+                            + inputs.get(i) + "\": " + response.errors));
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,442 @@
+package poker.api;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+import poker.models.Card;
+import poker.models.HandEvaluator;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache in front of the winner service. Showdowns are keyed by a canonical form that ignores
+ * player order, card order and which suit is which, so any showdown that is a relabeling of one already
+ * seen is answered locally; results are mapped back to the caller's player ids and suits.
+ *
+ * The cache understands inputs of the form "p1: AS KS; p2: QH QD; board: 2C 7D 9H JS 3C" (one entry per
+ * player, plus the board). Anything else goes to the service uncached. With the local fallback on, a
+ * showdown whose remote call fails or takes longer than the latency budget is settled with HandEvaluator
+ * instead; local results report the hole cards as the hand and NO_STRENGTH as handStrength, since
+ * the service's ranking is not known locally, and are never cached.
+ */
+public class ShowdownCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+    private static final String LOG_SOURCE = "ShowdownCache";
+    private static final String BOARD_ID = "board";
+    private static final int[][] SUIT_PERMUTATIONS = suitPermutations();
+
+    private final Function<String, CompletableFuture<ShowdownResult>> remote;
+    private final Map<String, Entry> entries;
+    private final long budgetNanos; // 0 when there is no latency budget
+    private final boolean localFallback;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder uncacheable = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ShowdownCache(PokerApiClient client) {
+        this(client::determineWinnerAsync, DEFAULT_MAX_ENTRIES, null, false);
+    }
+
+    /**
+     * remote is usually PokerApiClient::determineWinnerAsync or ShowdownBatcher::determineWinnerAsync.
+     * latencyBudget may be null for no budget; it only has an effect with localFallback on.
+     */
+    public ShowdownCache(Function<String, CompletableFuture<ShowdownResult>> remote, int maxEntries,
+                         Duration latencyBudget, boolean localFallback) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1.");
+        }
+        this.remote = remote;
+        this.localFallback = localFallback;
+        this.budgetNanos = latencyBudget == null || !localFallback ? 0L : latencyBudget.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public ShowdownResult determineWinner(String playerInput) throws Exception {
+        try {
+            return determineWinnerAsync(playerInput).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    public CompletableFuture<ShowdownResult> determineWinnerAsync(String playerInput) {
+        Showdown showdown = Showdown.parse(playerInput);
+        if (showdown == null) {
+            uncacheable.increment();
+            return remote.apply(playerInput);
+        }
+
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(showdown.key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return CompletableFuture.completedFuture(cached.toResult(showdown));
+        }
+        misses.increment();
+
+        CompletableFuture<ShowdownResult> result = new CompletableFuture<>();
+        remote.apply(playerInput).whenComplete((response, error) -> {
+            if (error != null) {
+                if (!localFallback || !settleLocally(result, showdown)) {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+            // Cache it even if the latency budget already settled this call, so the next one is a hit
+            Entry entry = Entry.fromResult(response, showdown);
+            if (entry != null) {
+                synchronized (entries) {
+                    entries.put(showdown.key, entry);
+                }
+            }
+            result.complete(response);
+        });
+        if (budgetNanos > 0) {
+            // The timeout runs on a copy so the result itself never fails with it; completing the result cancels it
+            result.copy().orTimeout(budgetNanos, TimeUnit.NANOSECONDS).whenComplete((response, error) -> {
+                if (error instanceof TimeoutException) {
+                    settleLocally(result, showdown);
+                }
+            });
+        }
+        return result;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    // Inputs that could not be canonicalized and went to the service uncached
+    public long getUncacheable() {
+        return uncacheable.sum();
+    }
+
+    // Showdowns settled by the local evaluator after a failed or slow remote call
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0.0 : (double) getHits() / lookups;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShowdownCache{size=%d, hits=%d, misses=%d, hitRate=%.3f, uncacheable=%d, fallbacks=%d, evictions=%d}",
+                size(), getHits(), getMisses(), getHitRate(), getUncacheable(), getFallbacks(), getEvictions());
+    }
+
+    // Completes the result with HandEvaluator; false when the board is too short to evaluate
+    private boolean settleLocally(CompletableFuture<ShowdownResult> result, Showdown showdown) {
+        if (showdown.board.length < 3) {
+            return false;
+        }
+        if (result.complete(showdown.evaluateLocally())) {
+            fallbacks.increment();
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Settled a showdown locally");
+        }
+        return true;
+    }
+
+    // A parsed showdown and how it maps onto its canonical form
+    private static class Showdown {
+        final String[] ids;
+        final int[][] holes;  // card ids per player, in input order
+        final int[] board;
+        String key;
+        int[] slotOfPlayer;   // canonical slot of each player
+        int[] suitMap;        // input suit -> canonical suit
+
+        Showdown(String[] ids, int[][] holes, int[] board) {
+            this.ids = ids;
+            this.holes = holes;
+            this.board = board;
+        }
+
+        // Null when the input is not in the "id: cards; board: cards" form or repeats a card
+        static Showdown parse(String playerInput) {
+            if (playerInput == null) {
+                return null;
+            }
+            List<String> ids = new ArrayList<>();
+            List<int[]> holes = new ArrayList<>();
+            int[] board = new int[0];
+            long seen = 0L;
+            try {
+                for (String entry : playerInput.split(";")) {
+                    int colon = entry.indexOf(':');
+                    if (colon < 0) {
+                        return null;
+                    }
+                    String id = entry.substring(0, colon).trim();
+                    String[] tokens = entry.substring(colon + 1).trim().split("\\s+");
+                    int[] cards = new int[tokens.length];
+                    for (int i = 0; i < tokens.length; i++) {
+                        Card card = Card.parse(tokens[i].toUpperCase());
+                        if ((seen & card.getMask()) != 0) {
+                            return null;
+                        }
+                        seen |= card.getMask();
+                        cards[i] = card.getId();
+                    }
+                    if (id.equalsIgnoreCase(BOARD_ID)) {
+                        board = cards;
+                    } else if (cards.length == 2 && !id.isEmpty() && !ids.contains(id)) {
+                        ids.add(id);
+                        holes.add(cards);
+                    } else {
+                        return null;
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (ids.size() < 2 || board.length > 5) {
+                return null;
+            }
+            Showdown showdown = new Showdown(ids.toArray(new String[0]), holes.toArray(new int[0][]), board);
+            showdown.canonicalize();
+            return showdown;
+        }
+
+        // Picks the suit relabeling with the smallest encoding of the sorted board and sorted hands
+        private void canonicalize() {
+            int players = ids.length;
+            char[] best = null;
+            int[] bestOrder = null;
+            int[] bestSuits = null;
+            char[] encoding = new char[2 + board.length + 2 * players];
+            long[] sortedHands = new long[players];
+
+            for (int[] suits : SUIT_PERMUTATIONS) {
+                encoding[0] = (char) players;
+                encoding[1] = (char) board.length;
+                int[] mappedBoard = new int[board.length];
+                for (int i = 0; i < board.length; i++) {
+                    mappedBoard[i] = relabel(board[i], suits);
+                }
+                Arrays.sort(mappedBoard);
+                for (int i = 0; i < board.length; i++) {
+                    encoding[2 + i] = (char) mappedBoard[i];
+                }
+                // Hands sort as (low card, high card, player index) packed into one long
+                for (int p = 0; p < players; p++) {
+                    int a = relabel(holes[p][0], suits);
+                    int b = relabel(holes[p][1], suits);
+                    sortedHands[p] = (long) Math.min(a, b) << 40 | (long) Math.max(a, b) << 20 | p;
+                }
+                Arrays.sort(sortedHands);
+                int offset = 2 + board.length;
+                for (int slot = 0; slot < players; slot++) {
+                    encoding[offset + 2 * slot] = (char) (sortedHands[slot] >>> 40);
+                    encoding[offset + 2 * slot + 1] = (char) (sortedHands[slot] >>> 20 & 0xFFFFF);
+                }
+                if (best == null || Arrays.compare(encoding, best) < 0) {
+                    best = encoding.clone();
+                    bestSuits = suits;
+                    bestOrder = new int[players];
+                    for (int slot = 0; slot < players; slot++) {
+                        bestOrder[(int) (sortedHands[slot] & 0xFFFFF)] = slot;
+                    }
+                }
+            }
+            key = new String(best);
+            slotOfPlayer = bestOrder;
+            suitMap = bestSuits;
+        }
+
+        int playerInSlot(int slot) {
+            for (int p = 0; p < slotOfPlayer.length; p++) {
+                if (slotOfPlayer[p] == slot) {
+                    return p;
+                }
+            }
+            throw new IllegalArgumentException("No player in slot " + slot);
+        }
+
+        int playerWithId(String id) {
+            for (int p = 0; p < ids.length; p++) {
+                if (ids[p].equals(id)) {
+                    return p;
+                }
+            }
+            return -1;
+        }
+
+        ShowdownResult evaluateLocally() {
+            long boardMask = 0L;
+            for (int card : board) {
+                boardMask |= Card.of(card).getMask();
+            }
+            int best = Integer.MIN_VALUE;
+            int[] values = new int[ids.length];
+            for (int p = 0; p < ids.length; p++) {
+                values[p] = HandEvaluator.evaluate(boardMask | Card.of(holes[p][0]).getMask() | Card.of(holes[p][1]).getMask());
+                best = Math.max(best, values[p]);
+            }
+
+            List<ShowdownResult.PlayerHand> winners = new ArrayList<>(2);
+            List<ShowdownResult.PlayerHand> players = new ArrayList<>(ids.length);
+            for (int p = 0; p < ids.length; p++) {
+                List<String> hand = List.of(Card.of(holes[p][0]).toString(), Card.of(holes[p][1]).toString());
+                ShowdownResult.PlayerHand player = new ShowdownResult.PlayerHand(ids[p], hand, ShowdownResult.NO_STRENGTH);
+                players.add(player);
+                if (values[p] == best) {
+                    winners.add(player);
+                }
+            }
+            return new ShowdownResult(winners, players);
+        }
+    }
+
+    // A service result in canonical form: players by canonical slot, cards in canonical suits
+    private static class Entry {
+        final int[] winnerSlots;
+        final List<List<String>> winnerHands;
+        final List<List<String>> hands; // by slot
+        final int[] strengths;
+
+        Entry(int winners, int players) {
+            this.winnerSlots = new int[winners];
+            this.winnerHands = new ArrayList<>(winners);
+            this.hands = new ArrayList<>(Collections.nCopies(players, null));
+            this.strengths = new int[players];
+        }
+
+        // Null when the result does not name exactly the showdown's players
+        static Entry fromResult(ShowdownResult result, Showdown showdown) {
+            if (result.getPlayers().size() != showdown.ids.length) {
+                return null;
+            }
+            Entry entry = new Entry(result.getWinners().size(), showdown.ids.length);
+            for (int i = 0; i < entry.winnerSlots.length; i++) {
+                ShowdownResult.PlayerHand winner = result.getWinners().get(i);
+                int player = showdown.playerWithId(winner.getId());
+                if (player < 0) {
+                    return null;
+                }
+                entry.winnerSlots[i] = showdown.slotOfPlayer[player];
+                entry.winnerHands.add(relabelCards(winner.getHand(), showdown.suitMap));
+            }
+            for (ShowdownResult.PlayerHand detail : result.getPlayers()) {
+                int player = showdown.playerWithId(detail.getId());
+                if (player < 0) {
+                    return null;
+                }
+                int slot = showdown.slotOfPlayer[player];
+                entry.hands.set(slot, relabelCards(detail.getHand(), showdown.suitMap));
+                entry.strengths[slot] = detail.getHandStrength();
+            }
+            for (List<String> hand : entry.hands) {
+                if (hand == null) {
+                    return null;
+                }
+            }
+            return entry;
+        }
+
+        ShowdownResult toResult(Showdown showdown) {
+            int[] toInputSuits = invert(showdown.suitMap);
+            List<ShowdownResult.PlayerHand> winners = new ArrayList<>(winnerSlots.length);
+            for (int i = 0; i < winnerSlots.length; i++) {
+                String id = showdown.ids[showdown.playerInSlot(winnerSlots[i])];
+                winners.add(new ShowdownResult.PlayerHand(id, relabelCards(winnerHands.get(i), toInputSuits), ShowdownResult.NO_STRENGTH));
+            }
+            List<ShowdownResult.PlayerHand> players = new ArrayList<>(hands.size());
+            for (int p = 0; p < showdown.ids.length; p++) {
+                int slot = showdown.slotOfPlayer[p];
+                players.add(new ShowdownResult.PlayerHand(showdown.ids[p], relabelCards(hands.get(slot), toInputSuits), strengths[slot]));
+            }
+            return new ShowdownResult(winners, players);
+        }
+    }
+
+    private static int relabel(int cardId, int[] suits) {
+        return cardId - cardId % Card.SUIT_COUNT + suits[cardId % Card.SUIT_COUNT];
+    }
+
+    // Relabels every entry that is a card; anything else is passed through unchanged
+    private static List<String> relabelCards(List<String> cards, int[] suits) {
+        List<String> relabeled = new ArrayList<>(cards.size());
+        for (String text : cards) {
+            try {
+                Card card = Card.parse(text.toUpperCase());
+                relabeled.add(Card.of(relabel(card.getId(), suits)).toString());
+            } catch (IllegalArgumentException e) {
+                relabeled.add(text);
+            }
+        }
+        return relabeled;
+    }
+
+    private static int[] invert(int[] suits) {
+        int[] inverse = new int[suits.length];
+        for (int i = 0; i < suits.length; i++) {
+            inverse[suits[i]] = i;
+        }
+        return inverse;
+    }
+
+    private static int[][] suitPermutations() {
+        List<int[]> permutations = new ArrayList<>(24);
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d != a && d != b && d != c) {
+                        permutations.add(new int[]{a, b, c, d});
+                    }
+                }
+            }
+        }
+        return permutations.toArray(new int[0][]);
+    }
+}
@@ -0,0 +1,253 @@
+package poker.api;
+
+import javax.json.Json;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams calcWinner requests and responses. Requests are written with a JsonGenerator straight into a
+ * byte buffer: the mutation text is fixed (or cached per batch size) and each playerInput is passed as a
+ * GraphQL variable, so no query string is built or escaped per showdown. Responses are read with a
+ * JsonParser directly into ShowdownResults, without building a JSON tree.
+ */
+final class ShowdownJson {
+
+    private static final String SELECTION = " { winners { id hand } players { id hand handStrength } }";
+    private static final String SINGLE_QUERY =
+            "mutation Showdown($p0: String!) { calcWinner(input: { playerInput: $p0 })" + SELECTION + " }";
+
+    // Factories are thread-safe and looking up the JSON provider is slow, so do it once
+    private static final JsonGeneratorFactory GENERATORS = Json.createGeneratorFactory(null);
+    private static final JsonParserFactory PARSERS = Json.createParserFactory(null);
+    private static final Map<Integer, String> BATCH_QUERIES = new ConcurrentHashMap<>();
+
+    private ShowdownJson() {
+    }
+
+    // Request body buffer that hands its array to the HttpClient without copying it
+    static class RequestBody extends ByteArrayOutputStream {
+        RequestBody() {
+            super(512);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    // Parsed response: results by index (null where the service returned none) and any error messages
+    static class Response {
+        final ShowdownResult[] results;
+        final List<String> errors = new ArrayList<>(0);
+
+        Response(int size) {
+            this.results = new ShowdownResult[size];
+        }
+
+        ShowdownResult resultOrThrow(int index) {
+            if (results[index] == null) {
+                throw new RuntimeException("calcWinner returned no result: " + errors);
+            }
+            return results[index];
+        }
+    }
+
+    static RequestBody writeRequest(String playerInput) {
+        RequestBody body = new RequestBody();
+        try (JsonGenerator generator = GENERATORS.createGenerator(body)) {
+            generator.writeStartObject()
+                    .write("query", SINGLE_QUERY)
+                    .writeStartObject("variables")
+                    .write("p0", playerInput)
+                    .writeEnd()
+                    .writeEnd();
+        }
+        return body;
+    }
+
+    // One mutation with an aliased calcWinner field per showdown: s0 answers p0, s1 answers p1 and so on
+    static RequestBody writeBatchRequest(List<String> playerInputs) {
+        RequestBody body = new RequestBody();
+        try (JsonGenerator generator = GENERATORS.createGenerator(body)) {
+            generator.writeStartObject()
+                    .write("query", BATCH_QUERIES.computeIfAbsent(playerInputs.size(), ShowdownJson::batchQuery))
+                    .writeStartObject("variables");
+            for (int i = 0; i < playerInputs.size(); i++) {
+                generator.write("p" + i, playerInputs.get(i));
+            }
+            generator.writeEnd().writeEnd();
+        }
+        return body;
+    }
+
+    private static String batchQuery(int size) {
+        StringBuilder query = new StringBuilder("mutation Showdowns(");
+        for (int i = 0; i < size; i++) {
+            query.append(i == 0 ? "" : ", ").append("$p").append(i).append(": String!");
+        }
+        query.append(") {");
+        for (int i = 0; i < size; i++) {
+            query.append(" s").append(i).append(": calcWinner(input: { playerInput: $p").append(i).append(" })").append(SELECTION);
+        }
+        return query.append(" }").toString();
+    }
+
+    /**
+     * Reads {"data": {...}, "errors": [...]} in either order. The field calcWinner is result 0 and an
+     * alias sN is result N; aliases outside 0..size-1 are ignored.
+     */
+    static Response parseResponse(Reader in, int size) {
+        Response response = new Response(size);
+        try (JsonParser parser = PARSERS.createParser(in)) {
+            expect(parser, JsonParser.Event.START_OBJECT);
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event value = parser.next();
+                if (key.equals("data") && value == JsonParser.Event.START_OBJECT) {
+                    parseData(parser, response);
+                } else if (key.equals("errors") && value == JsonParser.Event.START_ARRAY) {
+                    parseErrors(parser, response.errors);
+                } else {
+                    skip(parser, value);
+                }
+            }
+        }
+        return response;
+    }
+
+    private static void parseData(JsonParser parser, Response response) {
+        while (parser.next() == JsonParser.Event.KEY_NAME) {
+            int index = resultIndex(parser.getString());
+            JsonParser.Event value = parser.next();
+            if (index >= 0 && index < response.results.length && value == JsonParser.Event.START_ARRAY) {
+                response.results[index] = parseCalcWinner(parser);
+            } else {
+                skip(parser, value);
+            }
+        }
+    }
+
+    private static int resultIndex(String key) {
+        if (key.equals("calcWinner")) {
+            return 0;
+        }
+        if (key.length() < 2 || key.charAt(0) != 's') {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 1; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    // The service answers with a list holding one result; anything after the first is ignored
+    private static ShowdownResult parseCalcWinner(JsonParser parser) {
+        ShowdownResult result = null;
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (result == null && event == JsonParser.Event.START_OBJECT) {
+                List<ShowdownResult.PlayerHand> winners = new ArrayList<>(2);
+                List<ShowdownResult.PlayerHand> players = new ArrayList<>(10);
+                while (parser.next() == JsonParser.Event.KEY_NAME) {
+                    String key = parser.getString();
+                    JsonParser.Event value = parser.next();
+                    if (key.equals("winners") && value == JsonParser.Event.START_ARRAY) {
+                        parsePlayers(parser, winners);
+                    } else if (key.equals("players") && value == JsonParser.Event.START_ARRAY) {
+                        parsePlayers(parser, players);
+                    } else {
+                        skip(parser, value);
+                    }
+                }
+                result = new ShowdownResult(winners, players);
+            } else {
+                skip(parser, event);
+            }
+        }
+        return result;
+    }
+
+    private static void parsePlayers(JsonParser parser, List<ShowdownResult.PlayerHand> into) {
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                skip(parser, event);
+                continue;
+            }
+            String id = null;
+            List<String> hand = new ArrayList<>(5);
+            int handStrength = ShowdownResult.NO_STRENGTH;
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event value = parser.next();
+                if (key.equals("id") && (value == JsonParser.Event.VALUE_STRING || value == JsonParser.Event.VALUE_NUMBER)) {
+                    id = parser.getString();
+                } else if (key.equals("hand") && value == JsonParser.Event.START_ARRAY) {
+                    JsonParser.Event card;
+                    while ((card = parser.next()) != JsonParser.Event.END_ARRAY) {
+                        if (card == JsonParser.Event.VALUE_STRING) {
+                            hand.add(parser.getString());
+                        } else {
+                            skip(parser, card);
+                        }
+                    }
+                } else if (key.equals("handStrength") && value == JsonParser.Event.VALUE_NUMBER) {
+                    handStrength = parser.getInt();
+                } else {
+                    skip(parser, value);
+                }
+            }
+            if (id == null) {
+                throw new IllegalStateException("calcWinner returned a player without an id");
+            }
+            into.add(new ShowdownResult.PlayerHand(id, hand, handStrength));
+        }
+    }
+
+    private static void parseErrors(JsonParser parser, List<String> into) {
+        JsonParser.Event event;
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            if (event != JsonParser.Event.START_OBJECT) {
+                skip(parser, event);
+                continue;
+            }
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                String key = parser.getString();
+                JsonParser.Event value = parser.next();
+                if (key.equals("message") && value == JsonParser.Event.VALUE_STRING) {
+                    into.add(parser.getString());
+                } else {
+                    skip(parser, value);
+                }
+            }
+        }
+    }
+
+    private static void expect(JsonParser parser, JsonParser.Event expected) {
+        if (!parser.hasNext() || parser.next() != expected) {
+            throw new IllegalStateException("Malformed calcWinner response, expected " + expected);
+        }
+    }
+
+    // Skips the value that started with the given event
+    private static void skip(JsonParser parser, JsonParser.Event event) {
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+}
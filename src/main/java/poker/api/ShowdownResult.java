@@ -0,0 +1,93 @@
+package poker.api;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// The winner service's answer for one showdown
+public class ShowdownResult {
+
+    // Strength reported where the service gave none: for winners, and for showdowns settled locally
+    public static final int NO_STRENGTH = -1;
+
+    // One player's entry: their id, the cards the service reported and the strength of their hand
+    public static class PlayerHand {
+        private final String id;
+        private final List<String> hand;
+        private final int handStrength;
+
+        public PlayerHand(String id, List<String> hand, int handStrength) {
+            this.id = id;
+            this.hand = hand;
+            this.handStrength = handStrength;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getHand() {
+            return hand;
+        }
+
+        public int getHandStrength() {
+            return handStrength;
+        }
+
+        @Override
+        public String toString() {
+            return id + hand + (handStrength == NO_STRENGTH ? "" : " strength " + handStrength);
+        }
+    }
+
+    private final List<PlayerHand> winners;
+    private final List<PlayerHand> players;
+
+    public ShowdownResult(List<PlayerHand> winners, List<PlayerHand> players) {
+        this.winners = winners;
+        this.players = players;
+    }
+
+    public List<PlayerHand> getWinners() {
+        return winners;
+    }
+
+    public List<PlayerHand> getPlayers() {
+        return players;
+    }
+
+    public boolean isWinner(String id) {
+        for (PlayerHand winner : winners) {
+            if (winner.getId().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The untyped form PokerApiClient.determineWinner has always returned
+    public Map<String, Object> toMap() {
+        List<String> winnerIds = new ArrayList<>(winners.size());
+        for (PlayerHand winner : winners) {
+            winnerIds.add(winner.getId());
+        }
+        List<Map<String, Object>> playerDetails = new ArrayList<>(players.size());
+        for (PlayerHand player : players) {
+            Map<String, Object> playerDetail = new HashMap<>();
+            playerDetail.put("id", player.getId());
+            playerDetail.put("hand", player.getHand());
+            playerDetail.put("handStrength", player.getHandStrength());
+            playerDetails.add(playerDetail);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("winners", winnerIds);
+        result.put("players", playerDetails);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ShowdownResult{winners=" + winners + ", players=" + players + "}";
+    }
+}
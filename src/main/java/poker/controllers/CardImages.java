@@ -0,0 +1,82 @@
+package poker.controllers;
+
+import javafx.scene.image.Image;
+import poker.log.GameLog;
+import poker.log.LogLevel;
+import poker.models.Card;
+
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Decodes the 52 card faces and the card back once, at the size the table draws them, and hands out
+ * the shared Image instances. preload() decodes them all on a background thread at startup; an image
+ * asked for before that thread reaches it is decoded on the spot, so the table never waits for the
+ * whole set.
+ */
+public final class CardImages {
+
+    public static final double CARD_WIDTH = 50;
+    public static final double FACE_HEIGHT = 75;
+    public static final double BACK_HEIGHT = 70;
+
+    private static final String LOG_SOURCE = "CardImages";
+    private static final int BACK = Card.DECK_SIZE; // slot after the 52 faces, which are indexed by card id
+
+    private static final AtomicReferenceArray<Image> IMAGES = new AtomicReferenceArray<>(Card.DECK_SIZE + 1);
+    private static Thread preloader;
+
+    private CardImages() {
+    }
+
+    // Starts decoding every card image in the background; later calls do nothing
+    public static synchronized void preload() {
+        if (preloader != null) {
+            return;
+        }
+        preloader = new Thread(() -> {
+            long start = System.nanoTime();
+            for (int slot = 0; slot <= BACK; slot++) {
+                get(slot);
+            }
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Decoded {} card images in {} ms", BACK + 1,
+                    (System.nanoTime() - start) / 1_000_000);
+        }, "card-image-preloader");
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+
+    public static Image face(Card card) {
+        return get(card.getId());
+    }
+
+    public static Image back() {
+        return get(BACK);
+    }
+
+    private static Image get(int slot) {
+        Image image = IMAGES.get(slot);
+        if (image == null) {
+            // Two threads may both decode the same image; the first one stored wins
+            IMAGES.compareAndSet(slot, null, decode(slot));
+            image = IMAGES.get(slot);
+        }
+        return image;
+    }
+
+    private static Image decode(int slot) {
+        String path = slot == BACK ? "/images/cards/card-back.png" : "/images/cards/" + Card.of(slot) + ".png";
+        try (InputStream in = CardImages.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing card image " + path);
+            }
+            // Decode straight to the drawn size so nothing is scaled on every frame
+            return slot == BACK
+                    ? new Image(in, CARD_WIDTH, BACK_HEIGHT, true, true)
+                    : new Image(in, CARD_WIDTH, FACE_HEIGHT, false, true);
+        } catch (Exception e) {
+            GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Error loading card image " + path, e);
+            return null; // an empty ImageView, as before; the next request tries again
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package poker.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
+import poker.log.GameLog;
+import poker.log.LogLevel;
 import poker.models.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
-public class PokerController implements PokerGameListener{
+public class PokerController {
+
+    private static final String LOG_SOURCE = "PokerController";
+    private static final int AI_PLAYER_COUNT = 5;
 
     @FXML
     private Label potLabel, playerLabel, ai1Label, ai2Label, ai3Label, ai4Label, ai5Label;
@@ -33,33 +40,75 @@ public class PokerController implements PokerGameListener{
     private PokerGame pokerGame;
     private Player humanPlayer;
     private List<PokerAI> aiPlayers;
+    private TableViewModel tableView;
+    private volatile TableEngine engine; // every call into pokerGame goes through the engine thread
+    private volatile boolean closed;
+    private final AtomicReference<TableSnapshot> latestSnapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
 
 
     @FXML
     public void initialize() {
-        System.out.println("Initializing PokerController...");
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Initializing PokerController...");
 
-        // Initialize the game without dealing cards
-        initializeGame();
+        // Decode the card images in the background before the first deal needs them
+        CardImages.preload();
 
-        // Ensure community cards and player cards are empty
-        clearCardDisplays();
+        // Create the table's nodes, all empty until the first deal
+        buildTableView();
 
         // Ensure pot is displayed as $0
         potLabel.setText("Pot: $0");
 
-        // Disable all action buttons initially
+        // Disable all action buttons initially, and dealing until the game is set up
         disableHumanControls(); // Disable buttons at the start
+        dealButton.setDisable(true);
         setupButtonActions(); // Link button actions to game logic
 
-        System.out.println("Initialization complete. Fold, Call, and Raise buttons disabled.");
+        // Initialize the game without dealing cards, off the FX thread so the table shows first
+        Thread tableSetup = new Thread(this::setUpTable, "table-setup");
+        tableSetup.setDaemon(true);
+        tableSetup.start();
+
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Initialization complete. Fold, Call, and Raise buttons disabled.");
+    }
+
+    // Completes on the FX thread once the game is set up and the deal button is enabled; fails if the setup fails
+    public CompletableFuture<Void> whenReady() {
+        return ready;
     }
 
+    private void setUpTable() {
+        try {
+            initializeGame();
+
+            // Build the evaluator's lookup tables now rather than in the middle of the first hand
+            HandEvaluator.evaluateHand(List.of(Card.of(0), Card.of(5)));
+            HandEvaluator.evaluate(Card.maskOf(List.of(Card.of(0), Card.of(5), Card.of(10), Card.of(15), Card.of(20))));
+
+            engine = new TableEngine(pokerGame, this::publish);
+            if (closed) {
+                engine.shutdown(); // the window closed while the table was being set up
+                return;
+            }
+            Platform.runLater(() -> {
+                dealButton.setDisable(false);
+                ready.complete(null);
+            });
+        } catch (RuntimeException e) {
+            GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Error setting up the table", e);
+            ready.completeExceptionally(e);
+        }
+    }
 
-    @Override
-    public void onHumanTurn() {
-        System.out.println("Enabling controls for human player.");
-        enableHumanControls(); // Activate buttons for human input
+    // Stops the engine thread; called when the window closes
+    public void shutdown() {
+        closed = true;
+        TableEngine current = engine;
+        if (current != null) {
+            current.shutdown();
+        }
     }
 
     public void enableHumanControls() {
@@ -76,31 +125,33 @@ public class PokerController implements PokerGameListener{
 
     private void setupButtonActions() {
         foldButton.setOnAction(e -> {
-            pokerGame.handleFold(humanPlayer);
-            disableHumanControls(); // Disable buttons after the action
-            pokerGame.moveToNextPlayer(); // Resume game
+            disableHumanControls(); // Disable buttons before the game resumes
+            engine.submit(game -> game.handleFold(humanPlayer)); // Resumes the game until the next human turn
         });
 
         callButton.setOnAction(e -> {
-            pokerGame.handleCall(humanPlayer);
-            disableHumanControls(); // Disable buttons after the action
-            pokerGame.moveToNextPlayer(); // Resume game
+            disableHumanControls(); // Disable buttons before the game resumes
+            engine.submit(game -> game.handleCall(humanPlayer)); // Resumes the game until the next human turn
         });
 
         raiseButton.setOnAction(e -> {
             try {
                 int raiseAmount = Integer.parseInt(raiseAmountField.getText());
-                pokerGame.handleRaise(humanPlayer, raiseAmount);
-                disableHumanControls(); // Disable buttons after the action
-                pokerGame.moveToNextPlayer(); // Resume game
+                disableHumanControls(); // Disable buttons before the game resumes
+                engine.submit(game -> game.handleRaise(humanPlayer, raiseAmount)); // Resumes the game until the next human turn
             } catch (NumberFormatException ex) {
-                System.out.println("Invalid raise amount entered.");
+                GameLog.log(LogLevel.WARN, LOG_SOURCE, "Invalid raise amount entered.");
             }
         });
     }
 
-
-
+    // Called on the engine thread for every state change; a burst of changes is drawn in one refresh
+    private void publish(TableSnapshot snapshot) {
+        latestSnapshot.set(snapshot);
+        if (refreshPending.compareAndSet(false, true)) {
+            Platform.runLater(this::updateUI);
+        }
+    }
 
     /**
      * Simulates getting a raise amount from the user. You can replace this with a dialog.
@@ -111,35 +162,25 @@ public class PokerController implements PokerGameListener{
         return 50; // Placeholder value for testing
     }
 
-    /**
-     * Called when it's the human player's turn to enable controls.
-     */
-    public void handleHumanTurn() {
-        System.out.println("Human player's turn. Enabling controls.");
-        enableHumanControls(); // Enable buttons for the human player's action
-    }
-
-
-
-
-    private void updateButtonStates() {
-        boolean isHumanTurn = pokerGame.getCurrentPlayer() == pokerGame.getHumanPlayer();
+    // Offers the human actions on their turn and a new deal once the hand is over
+    private void updateButtonStates(TableSnapshot table) {
+        boolean isHumanTurn = table.awaitingHuman;
         foldButton.setDisable(!isHumanTurn);
         callButton.setDisable(!isHumanTurn);
         raiseButton.setDisable(!isHumanTurn);
-
-
+        dealButton.setDisable(!table.handOver);
     }
 
 
-    private void clearCardDisplays() {
-        playerCards.getChildren().clear();
-        ai1Cards.getChildren().clear();
-        ai2Cards.getChildren().clear();
-        ai3Cards.getChildren().clear();
-        ai4Cards.getChildren().clear();
-        ai5Cards.getChildren().clear();
-        communityCardsBox.getChildren().clear();
+    // Creates the card and label nodes once; every later update only changes what differs
+    private void buildTableView() {
+        List<TableViewModel.SeatView> seatViews = new ArrayList<>();
+        seatViews.add(new TableViewModel.SeatView(0, "YOU", true, playerLabel, playerCards, 16));
+        for (int i = 0; i < AI_PLAYER_COUNT; i++) {
+            seatViews.add(new TableViewModel.SeatView(i + 1, "AI " + (i + 1), false,
+                    getAIPlayerLabel(i), getAICardBox(i), 14));
+        }
+        tableView = new TableViewModel(potLabel, seatViews, communityCardsBox);
     }
 
 
@@ -151,7 +192,7 @@ public class PokerController implements PokerGameListener{
         // Create AI players
         aiPlayers = new ArrayList<>();
         Random random = new Random();
-        for (int i = 1; i <= 5; i++) {
+        for (int i = 1; i <= AI_PLAYER_COUNT; i++) {
             aiPlayers.add(new PokerAI("AI Player " + i, 1000, random.nextInt(21) + 40, random.nextInt(21) + 40,
                     random.nextInt(21) + 40, random.nextInt(21) + 40));
         }
@@ -167,8 +208,7 @@ public class PokerController implements PokerGameListener{
 
 
     public void nextPlayerTurn() {
-        pokerGame.nextPlayerTurn();
-        updateUI(); // Refresh UI to reflect the new current player
+        engine.submit(PokerGame::nextPlayerTurn); // The UI refreshes once the engine has moved on
     }
 
     // Add these utility methods to resolve the errors
@@ -197,218 +237,30 @@ public class PokerController implements PokerGameListener{
     }
 
 
+    // Draws the newest snapshot; clearing the flag first lets a later change schedule another refresh
     private void updateUI() {
-        // Update pot label
-        potLabel.setText("Pot: $" + pokerGame.getPot());
-
-        // Update player labels with dealer and chip info
-        playerLabel.setText(humanPlayer.getName() + (pokerGame.isDealer(humanPlayer) ? " (D)" : "") + " - $" + humanPlayer.getChips());
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            Label aiLabel = getAIPlayerLabel(i);
-            PokerAI aiPlayer = aiPlayers.get(i);
-            aiLabel.setText(aiPlayer.getName() + (pokerGame.isDealer(aiPlayer) ? " (D)" : "") + " - $" + aiPlayer.getChips());
-        }
+        refreshPending.set(false);
+        TableSnapshot table = latestSnapshot.get();
 
-        // Update current player indicator
-        updateCurrentPlayerIndicator();
+        // Redraw only the seats, cards and labels that changed
+        tableView.render(table);
 
         // Enable or disable human player buttons based on turn
-        boolean isHumanTurn = pokerGame.getCurrentPlayer() == humanPlayer;
-        foldButton.setDisable(!isHumanTurn);
-        callButton.setDisable(!isHumanTurn);
-        raiseButton.setDisable(!isHumanTurn);
-
-        // Clear card displays
-        clearCardDisplays();
-
-        // Add human player's cards face-up
-        for (Card card : humanPlayer.getCards()) {
-            playerCards.getChildren().add(createCardFace(card));
-        }
-
-        // Add AI players' card backs
-        for (int i = 0; i < aiPlayers.size(); i++) {
-            for (int j = 0; j < 2; j++) {
-                getAICardBox(i).getChildren().add(createCardBack());
-            }
-        }
-
-        // Update community cards
-        updateCommunityCards();
+        updateButtonStates(table);
     }
 
 
-    private void updateCurrentPlayerIndicator() {
-        // Reset styles for all labels
-        playerLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: normal;");
-        ai1Label.setStyle("-fx-font-size: 14px; -fx-font-weight: normal;");
-        ai2Label.setStyle("-fx-font-size: 14px; -fx-font-weight: normal;");
-        ai3Label.setStyle("-fx-font-size: 14px; -fx-font-weight: normal;");
-        ai4Label.setStyle("-fx-font-size: 14px; -fx-font-weight: normal;");
-        ai5Label.setStyle("-fx-font-size: 14px; -fx-font-weight: normal;");
-
-        // Highlight the current player
-        if (pokerGame.getCurrentPlayer() == humanPlayer) {
-            playerLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        } else if (pokerGame.getCurrentPlayer() == aiPlayers.get(0)) {
-            ai1Label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        } else if (pokerGame.getCurrentPlayer() == aiPlayers.get(1)) {
-            ai2Label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        } else if (pokerGame.getCurrentPlayer() == aiPlayers.get(2)) {
-            ai3Label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        } else if (pokerGame.getCurrentPlayer() == aiPlayers.get(3)) {
-            ai4Label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        } else if (pokerGame.getCurrentPlayer() == aiPlayers.get(4)) {
-            ai5Label.setStyle("-fx-font-size: 14px; -fx-font-weight: bold; -fx-text-fill: blue;");
-        }
-
-        // Ensure blinds and dealer annotations are still displayed
-        updateBlinds();
-    }
-
-
-
-
-    private void updateBlinds() {
-        // Reset all labels with default chip counts
-        playerLabel.setText(String.format("YOU - $%d", humanPlayer.getChips()));
-        ai1Label.setText(String.format("AI 1 - $%d", aiPlayers.get(0).getChips()));
-        ai2Label.setText(String.format("AI 2 - $%d", aiPlayers.get(1).getChips()));
-        ai3Label.setText(String.format("AI 3 - $%d", aiPlayers.get(2).getChips()));
-        ai4Label.setText(String.format("AI 4 - $%d", aiPlayers.get(3).getChips()));
-        ai5Label.setText(String.format("AI 5 - $%d", aiPlayers.get(4).getChips()));
-
-        // Get the dealer position
-        Player dealer = pokerGame.getDealer();
-        List<Player> allPlayers = new ArrayList<>();
-        allPlayers.add(humanPlayer);
-        allPlayers.addAll(aiPlayers);
-        int dealerIndex = allPlayers.indexOf(dealer);
-
-        // Update the dealer's label
-        if (allPlayers.get(dealerIndex) == humanPlayer) {
-            playerLabel.setText(String.format("YOU (D) - $%d", humanPlayer.getChips()));
-        } else if (allPlayers.get(dealerIndex) == aiPlayers.get(0)) {
-            ai1Label.setText(String.format("AI 1 (D) - $%d", aiPlayers.get(0).getChips()));
-        } else if (allPlayers.get(dealerIndex) == aiPlayers.get(1)) {
-            ai2Label.setText(String.format("AI 2 (D) - $%d", aiPlayers.get(1).getChips()));
-        } else if (allPlayers.get(dealerIndex) == aiPlayers.get(2)) {
-            ai3Label.setText(String.format("AI 3 (D) - $%d", aiPlayers.get(2).getChips()));
-        } else if (allPlayers.get(dealerIndex) == aiPlayers.get(3)) {
-            ai4Label.setText(String.format("AI 4 (D) - $%d", aiPlayers.get(3).getChips()));
-        } else if (allPlayers.get(dealerIndex) == aiPlayers.get(4)) {
-            ai5Label.setText(String.format("AI 5 (D) - $%d", aiPlayers.get(4).getChips()));
-        }
-
-        // Assign SB and BB
-        int sbIndex = (dealerIndex + 1) % allPlayers.size(); // Next player after dealer
-        int bbIndex = (dealerIndex + 2) % allPlayers.size(); // Player after SB
-
-        if (allPlayers.get(sbIndex) == humanPlayer) {
-            playerLabel.setText(String.format("YOU (SB) - $%d", humanPlayer.getChips()));
-        } else if (allPlayers.get(sbIndex) == aiPlayers.get(0)) {
-            ai1Label.setText(String.format("AI 1 (SB) - $%d", aiPlayers.get(0).getChips()));
-        } else if (allPlayers.get(sbIndex) == aiPlayers.get(1)) {
-            ai2Label.setText(String.format("AI 2 (SB) - $%d", aiPlayers.get(1).getChips()));
-        } else if (allPlayers.get(sbIndex) == aiPlayers.get(2)) {
-            ai3Label.setText(String.format("AI 3 (SB) - $%d", aiPlayers.get(2).getChips()));
-        } else if (allPlayers.get(sbIndex) == aiPlayers.get(3)) {
-            ai4Label.setText(String.format("AI 4 (SB) - $%d", aiPlayers.get(3).getChips()));
-        } else if (allPlayers.get(sbIndex) == aiPlayers.get(4)) {
-            ai5Label.setText(String.format("AI 5 (SB) - $%d", aiPlayers.get(4).getChips()));
-        }
-
-        if (allPlayers.get(bbIndex) == humanPlayer) {
-            playerLabel.setText(String.format("YOU (BB) - $%d", humanPlayer.getChips()));
-        } else if (allPlayers.get(bbIndex) == aiPlayers.get(0)) {
-            ai1Label.setText(String.format("AI 1 (BB) - $%d", aiPlayers.get(0).getChips()));
-        } else if (allPlayers.get(bbIndex) == aiPlayers.get(1)) {
-            ai2Label.setText(String.format("AI 2 (BB) - $%d", aiPlayers.get(1).getChips()));
-        } else if (allPlayers.get(bbIndex) == aiPlayers.get(2)) {
-            ai3Label.setText(String.format("AI 3 (BB) - $%d", aiPlayers.get(2).getChips()));
-        } else if (allPlayers.get(bbIndex) == aiPlayers.get(3)) {
-            ai4Label.setText(String.format("AI 4 (BB) - $%d", aiPlayers.get(3).getChips()));
-        } else if (allPlayers.get(bbIndex) == aiPlayers.get(4)) {
-            ai5Label.setText(String.format("AI 5 (BB) - $%d", aiPlayers.get(4).getChips()));
-        }
-    }
-
-
-
-
-
-
-    private ImageView createCardFace(Card card) {
-        try {
-            // Assuming card.getSuit() returns "H", "D", "C", "S" for Hearts, Diamonds, Clubs, Spades
-            // and card.getRank() returns "A", "2", ..., "K"
-            String suit = card.getSuit(); // e.g., "H"
-            String rank = card.getRank(); // e.g., "A"
-
-            if (!suit.matches("[HDSC]")) {
-                throw new IllegalArgumentException("Invalid suit: " + suit);
-            }
-
-            if (!rank.matches("A|K|Q|J|T|[2-9]")) {
-                throw new IllegalArgumentException("Invalid rank: " + rank);
-            }
-
-            // Construct file path based on naming convention (e.g., "AD.png" for Ace of Diamonds)
-            String fileName = rank + suit + ".png";
-            String imagePath = "/images/cards/" + fileName;
-
-            // Load image
-            Image cardImage = new Image(getClass().getResourceAsStream(imagePath));
-            ImageView cardView = new ImageView(cardImage);
-            cardView.setFitWidth(50); // Set card dimensions
-            cardView.setFitHeight(75);
-            return cardView;
-        } catch (Exception e) {
-            System.err.println("Error creating card face: " + e.getMessage());
-            e.printStackTrace();
-            return new ImageView(); // Return an empty ImageView on failure
-        }
-    }
-
-
-
-    private ImageView createCardBack() {
-        // Load the card back image
-        Image cardBackImage = new Image(getClass().getResource("/images/cards/card-back.png").toExternalForm());
-
-        // Create an ImageView to display the card back
-        ImageView cardBack = new ImageView(cardBackImage);
-        cardBack.setFitWidth(50);  // Set the desired width
-        cardBack.setFitHeight(70); // Set the desired height
-        cardBack.setPreserveRatio(true);
-
-        return cardBack;
-    }
-
-
-    private void updateCommunityCards() {
-        communityCardsBox.getChildren().clear();
-        pokerGame.getCommunityCards().forEach(card -> {
-            Label cardLabel = new Label(card.toString());
-            cardLabel.setStyle("-fx-font-size: 24px; -fx-border-color: black; -fx-padding: 5px;");
-            communityCardsBox.getChildren().add(cardLabel);
-        });
-    }
-
     @FXML
     public void handleDealButton() {
-        pokerGame.startNewHand(); // Initialize a new hand
-
-        // Collect blinds only after dealing
-        pokerGame.collectBlinds();
+        // Keep the deal button disabled until the hand is over
+        dealButton.setDisable(true);
 
-        // Refresh the UI
-        updateUI();
-        updateButtonStates();
+        engine.submit(game -> {
+            game.startNewHand(); // Initialize a new hand
 
-        // Hide the deal button after dealing
-//        dealButton.setVisible(false);
-        dealButton.setDisable(true);
+            // Collect blinds only after dealing
+            game.collectBlinds();
+        });
     }
 
 
@@ -416,14 +268,14 @@ public class PokerController implements PokerGameListener{
 
     @FXML
     private void fold() {
-        pokerGame.handleFold(pokerGame.getHumanPlayer());
-        updateButtonStates(); // Update buttons after human action
+        disableHumanControls();
+        engine.submit(game -> game.handleFold(game.getHumanPlayer())); // The table refreshes as the game runs on
     }
 
     @FXML
     private void call() {
-        pokerGame.handleCall(pokerGame.getHumanPlayer());
-        updateButtonStates(); // Update buttons after human action
+        disableHumanControls();
+        engine.submit(game -> game.handleCall(game.getHumanPlayer())); // The table refreshes as the game runs on
     }
 
 
@@ -439,7 +291,7 @@ public class PokerController implements PokerGameListener{
     @FXML
     private void confirmRaise() {
         int raiseAmount = Integer.parseInt(raiseAmountField.getText());
-        pokerGame.handleRaise(pokerGame.getHumanPlayer(), raiseAmount);
-        updateButtonStates(); // Update buttons after human action
+        disableHumanControls();
+        engine.submit(game -> game.handleRaise(game.getHumanPlayer(), raiseAmount)); // The table refreshes as the game runs on
     }
 }
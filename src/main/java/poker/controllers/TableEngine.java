@@ -0,0 +1,84 @@
+package poker.controllers;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+import poker.models.ActionType;
+import poker.models.HandObserver;
+import poker.models.PokerGame;
+import poker.models.PokerGameListener;
+import poker.models.Street;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs a PokerGame on its own thread so AI turns and logging never block the JavaFX Application Thread.
+ * Every call into the game goes through submit(). After each state change the engine publishes a
+ * TableSnapshot to the consumer, which is called on the engine thread and must hand the snapshot on
+ * rather than draw it.
+ */
+class TableEngine implements HandObserver, PokerGameListener {
+
+    private static final String LOG_SOURCE = "TableEngine";
+
+    private final PokerGame game;
+    private final Consumer<TableSnapshot> publisher;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "poker-engine");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    TableEngine(PokerGame game, Consumer<TableSnapshot> publisher) {
+        this.game = game;
+        this.publisher = publisher;
+        game.addObserver(this);
+        game.setListener(this);
+    }
+
+    // Runs the command on the engine thread, then publishes the table as it left it
+    void submit(Consumer<PokerGame> command) {
+        executor.execute(() -> {
+            try {
+                command.accept(game);
+            } catch (RuntimeException e) {
+                GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Game command failed", e);
+            }
+            publish();
+        });
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void publish() {
+        publisher.accept(TableSnapshot.of(game));
+    }
+
+    @Override
+    public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+        publish();
+    }
+
+    @Override
+    public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+        publish();
+    }
+
+    @Override
+    public void streetDealt(PokerGame game, Street street) {
+        publish();
+    }
+
+    @Override
+    public void potAwarded(PokerGame game, int seat, int amount) {
+        publish();
+    }
+
+    @Override
+    public void onHumanTurn() {
+        publish();
+    }
+}
@@ -0,0 +1,59 @@
+package poker.controllers;
+
+import poker.models.Card;
+import poker.models.Player;
+import poker.models.PokerGame;
+
+import java.util.List;
+
+// Immutable copy of what the table shows, taken on the engine thread and drawn on the FX thread
+final class TableSnapshot {
+
+    static final int NO_CARD = -1;
+
+    final long handNumber;
+    final int pot;
+    final int currentSeat;
+    final int dealerSeat;
+    final int smallBlindSeat;
+    final int bigBlindSeat;
+    final boolean awaitingHuman;
+    final boolean handOver;
+    final int[] chips;
+    final int[][] holeCards; // card ids by seat, NO_CARD for an empty slot
+    final int[] communityCards;
+
+    private TableSnapshot(PokerGame game) {
+        handNumber = game.getHandNumber();
+        pot = game.getPot();
+        currentSeat = game.getCurrentSeat();
+        dealerSeat = game.getDealerSeat();
+        smallBlindSeat = game.getSmallBlindSeat();
+        bigBlindSeat = game.getBigBlindSeat();
+        awaitingHuman = game.isAwaitingHuman();
+        handOver = game.isHandOver();
+
+        int seats = game.getSeatCount();
+        chips = new int[seats];
+        holeCards = new int[seats][2];
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = game.getSeat(seat);
+            chips[seat] = player.getChips();
+            List<Card> hand = player.getCards();
+            for (int i = 0; i < 2; i++) {
+                holeCards[seat][i] = i < hand.size() ? hand.get(i).getId() : NO_CARD;
+            }
+        }
+
+        List<Card> board = game.getCommunityCards();
+        communityCards = new int[board.size()];
+        for (int i = 0; i < communityCards.length; i++) {
+            communityCards[i] = board.get(i).getId();
+        }
+    }
+
+    // Must run on the thread that owns the game
+    static TableSnapshot of(PokerGame game) {
+        return new TableSnapshot(game);
+    }
+}
@@ -0,0 +1,158 @@
+package poker.controllers;
+
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import poker.models.Card;
+
+import java.util.List;
+
+/**
+ * What the table shows, kept next to the nodes that show it. The card and label nodes are created once;
+ * render() compares a TableSnapshot with what was last drawn and only touches the properties that
+ * changed, so a hand played at speed causes no node creation and no restyling of unchanged labels.
+ * Only used on the JavaFX Application Thread.
+ */
+class TableViewModel {
+
+    private static final String POT_FORMAT = "Pot: $%d";
+    private static final String COMMUNITY_CARD_STYLE = "-fx-font-size: 24px; -fx-border-color: black; -fx-padding: 5px;";
+
+    private final Label potLabel;
+    private final SeatView[] seats;
+    private final Label[] communityLabels = new Label[5];
+    private int renderedPot = -1;
+    private int renderedCommunityCards;
+
+    // Seat views in seat order: the human player's first, then the AIs
+    TableViewModel(Label potLabel, List<SeatView> seats, HBox communityCardsBox) {
+        this.potLabel = potLabel;
+        this.seats = seats.toArray(new SeatView[0]);
+        for (int i = 0; i < communityLabels.length; i++) {
+            Label cardLabel = new Label();
+            cardLabel.setStyle(COMMUNITY_CARD_STYLE);
+            show(cardLabel, false);
+            communityLabels[i] = cardLabel;
+        }
+        communityCardsBox.getChildren().setAll(communityLabels);
+    }
+
+    void render(TableSnapshot table) {
+        if (table.pot != renderedPot) {
+            renderedPot = table.pot;
+            potLabel.setText(String.format(POT_FORMAT, renderedPot));
+        }
+
+        for (int seat = 0; seat < seats.length; seat++) {
+            seats[seat].render(table, seatTag(table, seat), seat == table.currentSeat);
+        }
+
+        int[] communityCards = table.communityCards;
+        if (communityCards.length < renderedCommunityCards) {
+            for (int i = communityCards.length; i < renderedCommunityCards; i++) {
+                show(communityLabels[i], false);
+            }
+        }
+        for (int i = 0; i < communityCards.length; i++) {
+            Label cardLabel = communityLabels[i];
+            String text = Card.of(communityCards[i]).toString();
+            if (!text.equals(cardLabel.getText())) {
+                cardLabel.setText(text);
+            }
+            if (i >= renderedCommunityCards) {
+                show(cardLabel, true);
+            }
+        }
+        renderedCommunityCards = communityCards.length;
+    }
+
+    // The big blind tag wins over the small blind's, which wins over the dealer button
+    private static String seatTag(TableSnapshot table, int seat) {
+        if (seat == table.bigBlindSeat) {
+            return " (BB)";
+        }
+        if (seat == table.smallBlindSeat) {
+            return " (SB)";
+        }
+        return seat == table.dealerSeat ? " (D)" : "";
+    }
+
+    private static void show(Node node, boolean visible) {
+        node.setVisible(visible);
+        node.setManaged(visible); // hidden nodes take no room in the box
+    }
+
+    /**
+     * One seat's label and two card slots. The human seat shows its hole cards face up; AI seats always
+     * show two card backs.
+     */
+    static class SeatView {
+        private static final String NORMAL_STYLE = "-fx-font-size: %dpx; -fx-font-weight: normal;";
+        private static final String CURRENT_STYLE = "-fx-font-size: %dpx; -fx-font-weight: bold; -fx-text-fill: blue;";
+
+        private final int seat;
+        private final String displayName;
+        private final boolean faceUp;
+        private final Label label;
+        private final ImageView[] cardViews = new ImageView[2];
+        private final String normalStyle;
+        private final String currentStyle;
+        private final int[] renderedCards = {TableSnapshot.NO_CARD, TableSnapshot.NO_CARD}; // card ids on display
+        private String renderedTag;
+        private int renderedChips = -1;
+        private Boolean renderedCurrent;
+
+        SeatView(int seat, String displayName, boolean faceUp, Label label, HBox cardBox, int fontSize) {
+            this.seat = seat;
+            this.displayName = displayName;
+            this.faceUp = faceUp;
+            this.label = label;
+            this.normalStyle = String.format(NORMAL_STYLE, fontSize);
+            this.currentStyle = String.format(CURRENT_STYLE, fontSize);
+            for (int i = 0; i < cardViews.length; i++) {
+                ImageView cardView = new ImageView();
+                cardView.setFitWidth(CardImages.CARD_WIDTH);
+                if (faceUp) {
+                    cardView.setFitHeight(CardImages.FACE_HEIGHT);
+                } else {
+                    cardView.setFitHeight(CardImages.BACK_HEIGHT);
+                    cardView.setPreserveRatio(true);
+                }
+                show(cardView, false);
+                cardViews[i] = cardView;
+            }
+            cardBox.getChildren().setAll(cardViews);
+        }
+
+        void render(TableSnapshot table, String tag, boolean current) {
+            int chips = table.chips[seat];
+            if (!tag.equals(renderedTag) || chips != renderedChips) {
+                renderedTag = tag;
+                renderedChips = chips;
+                label.setText(displayName + tag + " - $" + renderedChips);
+            }
+            if (renderedCurrent == null || renderedCurrent != current) {
+                renderedCurrent = current;
+                label.setStyle(current ? currentStyle : normalStyle);
+            }
+
+            int[] hand = table.holeCards[seat];
+            for (int i = 0; i < cardViews.length; i++) {
+                int cardId = !faceUp ? Card.DECK_SIZE : hand[i];
+                if (cardId == renderedCards[i]) {
+                    continue;
+                }
+                if (cardId >= 0) {
+                    Image image = faceUp ? CardImages.face(Card.of(cardId)) : CardImages.back();
+                    cardViews[i].setImage(image);
+                }
+                if ((cardId >= 0) != (renderedCards[i] >= 0)) {
+                    show(cardViews[i], cardId >= 0);
+                }
+                renderedCards[i] = cardId;
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package poker.history;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Layout of hand-history segment files. A segment starts with MAGIC and VERSION, followed by hand
+ * records, each an int byte length and that many bytes of body. A zero length (the unused, zero-filled
+ * tail of a mapped segment) marks the end of the segment.
+ *
+ * Body: varlong hand number, the hand's deck seed as 8 raw bytes, varint small and big blind, then
+ * seat count, dealer, small blind and big blind seats (one byte each), then per seat a varint
+ * starting stack and two card ids (NO_CARD when sitting out), then tagged events ending with
+ * TAG_END. Amounts are unsigned varints.
+ */
+final class HandHistoryFormat {
+
+    static final int MAGIC = 0x504B4848; // "PKHH"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 8;
+
+    static final byte NO_CARD = (byte) 0xFF;
+
+    static final byte TAG_END = 0;
+    static final byte TAG_BLINDS = 1;   // varint small blind paid, varint big blind paid
+    static final byte TAG_ACTION = 2;   // byte seat, byte ActionType ordinal, varint amount
+    static final byte TAG_STREET = 3;   // byte Street ordinal, byte card count, card ids
+    static final byte TAG_AWARD = 4;    // byte seat, varint amount
+
+    private HandHistoryFormat() {
+    }
+
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    static String segmentName(int index) {
+        return String.format("hands-%06d.phh", index);
+    }
+}
@@ -0,0 +1,121 @@
+package poker.history;
+
+import poker.models.ActionType;
+import poker.models.Card;
+import poker.models.Street;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Reads the segments written by HandHistoryWriter back into RecordedHand objects, oldest segment first
+public class HandHistoryReader {
+
+    private HandHistoryReader() {
+    }
+
+    public static void forEachHand(Path directory, Consumer<RecordedHand> consumer) throws IOException {
+        for (Path segment : segments(directory)) {
+            readSegment(segment, consumer);
+        }
+    }
+
+    public static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("hands-\\d{6}\\.phh"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static void readSegment(Path segment, Consumer<RecordedHand> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HandHistoryFormat.HEADER_SIZE
+                    || buffer.getInt() != HandHistoryFormat.MAGIC
+                    || buffer.getInt() != HandHistoryFormat.VERSION) {
+                throw new IOException("Not a hand-history segment: " + segment);
+            }
+            while (buffer.remaining() >= 4) {
+                int offset = buffer.position();
+                int length = buffer.getInt();
+                if (length == 0) {
+                    break; // unused tail of the segment
+                }
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IOException("Corrupt record length " + length + " at offset " + offset + " of " + segment);
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                RecordedHand hand;
+                try {
+                    hand = decode(body);
+                } catch (RuntimeException e) {
+                    throw new IOException("Corrupt hand record at offset " + offset + " of " + segment, e);
+                }
+                consumer.accept(hand);
+            }
+        }
+    }
+
+    static RecordedHand decode(ByteBuffer body) {
+        long handNumber = HandHistoryFormat.getVarLong(body);
+        long handSeed = body.getLong();
+        int smallBlind = (int) HandHistoryFormat.getVarLong(body);
+        int bigBlind = (int) HandHistoryFormat.getVarLong(body);
+        int seatCount = body.get();
+        RecordedHand hand = new RecordedHand(handNumber, handSeed, smallBlind, bigBlind, seatCount, body.get(), body.get(), body.get());
+        for (int seat = 0; seat < seatCount; seat++) {
+            int stack = (int) HandHistoryFormat.getVarLong(body);
+            byte first = body.get();
+            byte second = body.get();
+            Card[] cards = first == HandHistoryFormat.NO_CARD ? null : new Card[]{Card.of(first), Card.of(second)};
+            hand.setSeat(seat, stack, cards);
+        }
+
+        Street street = Street.PREFLOP;
+        while (true) {
+            byte tag = body.get();
+            switch (tag) {
+                case HandHistoryFormat.TAG_END:
+                    return hand;
+                case HandHistoryFormat.TAG_BLINDS:
+                    hand.setBlinds((int) HandHistoryFormat.getVarLong(body), (int) HandHistoryFormat.getVarLong(body));
+                    break;
+                case HandHistoryFormat.TAG_ACTION: {
+                    int seat = body.get();
+                    ActionType type = ActionType.values()[body.get()];
+                    int amount = (int) HandHistoryFormat.getVarLong(body);
+                    hand.addAction(new RecordedHand.Action(street, seat, type, amount));
+                    break;
+                }
+                case HandHistoryFormat.TAG_STREET: {
+                    street = Street.values()[body.get()];
+                    int count = body.get();
+                    for (int i = 0; i < count; i++) {
+                        hand.addBoardCard(Card.of(body.get()));
+                    }
+                    break;
+                }
+                case HandHistoryFormat.TAG_AWARD: {
+                    int seat = body.get();
+                    hand.addAward(seat, (int) HandHistoryFormat.getVarLong(body));
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unknown hand-history tag " + tag + " in hand " + handNumber);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package poker.history;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Append-only hand-history log made of fixed-size, memory-mapped segment files in one directory.
+ * Each table records through its own HandRecorder, which encodes hands into a batch buffer on the game
+ * thread; full batches are queued to a background thread that copies them into the mapped segment and
+ * rolls to a new segment when the current one is full. The game thread never waits on disk I/O.
+ * If writing fails, the writer thread logs the error and stops, and from then on recorders drop their
+ * hands instead of queueing them; close() rethrows the failure.
+ */
+public class HandHistoryWriter implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    static final int BATCH_SIZE = 64 << 10;
+
+    private static final String LOG_SOURCE = "HandHistoryWriter";
+    private static final Batch CLOSE_SIGNAL = new Batch(ByteBuffer.allocate(0), 0);
+
+    // A full buffer of encoded hands on its way to the writer thread
+    private static final class Batch {
+        final ByteBuffer buffer;
+        final int hands;
+
+        Batch(ByteBuffer buffer, int hands) {
+            this.buffer = buffer;
+            this.hands = hands;
+        }
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final BlockingQueue<Batch> pending = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedQueue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final List<HandRecorder> recorders = new CopyOnWriteArrayList<>();
+    private final AtomicLong handsWritten = new AtomicLong();
+    private final AtomicLong handsDropped = new AtomicLong();
+    private final Thread thread;
+
+    // Only touched by the writer thread
+    private int segmentIndex;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private volatile IOException failure;
+
+    public HandHistoryWriter(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public HandHistoryWriter(Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 2 * BATCH_SIZE) {
+            throw new IllegalArgumentException("Segments must hold at least two batches (" + 2 * BATCH_SIZE + " bytes).");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        // Never overwrite existing history: continue after the highest segment already on disk
+        this.segmentIndex = lastSegmentIndex(directory);
+        openNextSegment();
+
+        thread = new Thread(this::writeLoop, "hand-history-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // A recorder for one table; add it to the table's PokerGame with addObserver()
+    public HandRecorder newRecorder() {
+        HandRecorder recorder = new HandRecorder(this);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    // Hands copied into a segment
+    public long getHandsWritten() {
+        return handsWritten.get();
+    }
+
+    // Hands recorded after the writer failed, which were thrown away
+    public long getHandsDropped() {
+        return handsDropped.get();
+    }
+
+    // The error that stopped the writer thread, or null while it is running
+    public IOException getFailure() {
+        return failure;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    ByteBuffer takeBuffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(BATCH_SIZE + HandRecorder.MAX_HAND_SIZE);
+    }
+
+    // False when the writer has failed; the batch is not queued and the caller keeps its buffer
+    boolean submit(ByteBuffer batch, int hands) {
+        if (failure != null) {
+            handsDropped.addAndGet(hands);
+            return false;
+        }
+        batch.flip();
+        pending.add(new Batch(batch, hands));
+        return true;
+    }
+
+    /**
+     * Queues every recorder's partial batch, writes everything and syncs the segment to disk. The
+     * tables using this writer must be stopped first.
+     */
+    @Override
+    public void close() throws IOException {
+        for (HandRecorder recorder : recorders) {
+            recorder.flush();
+        }
+        pending.add(CLOSE_SIGNAL);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            dropPending(); // batches queued while the writer was failing
+            throw failure;
+        }
+    }
+
+    private void writeLoop() {
+        Batch batch = null;
+        try {
+            while (true) {
+                batch = pending.take();
+                if (batch == CLOSE_SIGNAL) {
+                    break;
+                }
+                write(batch.buffer);
+                handsWritten.addAndGet(batch.hands);
+                batch.buffer.clear();
+                freeBuffers.offer(batch.buffer);
+                batch = null;
+            }
+            segment.force();
+            channel.close();
+        } catch (IOException e) {
+            fail(e, batch);
+        } catch (RuntimeException e) {
+            fail(new IOException("Hand-history writer failed", e), batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Stops recording; the batch being written and the hands still queued are counted as dropped
+    private void fail(IOException e, Batch current) {
+        failure = e;
+        if (current != null) {
+            handsDropped.addAndGet(current.hands);
+        }
+        GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Writing hand history failed; no more hands will be recorded", e);
+        dropPending();
+        try {
+            channel.close();
+        } catch (IOException | RuntimeException ignored) {
+            // the original failure is the one worth reporting
+        }
+    }
+
+    private void dropPending() {
+        Batch batch;
+        while ((batch = pending.poll()) != null) {
+            handsDropped.addAndGet(batch.hands);
+        }
+    }
+
+    private void write(ByteBuffer batch) throws IOException {
+        // Keep at least 4 zero bytes at the end of every segment as its end marker
+        if (batch.remaining() > segment.remaining() - 4) {
+            segment.force();
+            channel.close();
+            openNextSegment();
+        }
+        segment.put(batch);
+    }
+
+    private void openNextSegment() throws IOException {
+        segmentIndex++;
+        Path file = directory.resolve(HandHistoryFormat.segmentName(segmentIndex));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segment.putInt(HandHistoryFormat.MAGIC);
+        segment.putInt(HandHistoryFormat.VERSION);
+    }
+
+    private static int lastSegmentIndex(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.matches("hands-\\d{6}\\.phh"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(6, 12)))
+                    .max()
+                    .orElse(0);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package poker.history;
+
+import poker.models.ActionType;
+import poker.models.Card;
+import poker.models.HandObserver;
+import poker.models.Player;
+import poker.models.PokerGame;
+import poker.models.Street;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Encodes the hands of one table into binary records (see HandHistoryFormat) and passes full batches
+ * to its HandHistoryWriter. All encoding happens on the table's own thread into reused buffers.
+ */
+public class HandRecorder implements HandObserver {
+
+    // Upper bound of one encoded hand: 10 seats, four capped betting rounds and a full board
+    static final int MAX_HAND_SIZE = 4096;
+
+    private final HandHistoryWriter writer;
+    private final ByteBuffer hand = ByteBuffer.allocate(MAX_HAND_SIZE);
+    private ByteBuffer batch;
+    private int handsInBatch;
+
+    HandRecorder(HandHistoryWriter writer) {
+        this.writer = writer;
+        this.batch = writer.takeBuffer();
+    }
+
+    @Override
+    public void handStarted(PokerGame game) {
+        hand.clear();
+        HandHistoryFormat.putVarLong(hand, game.getHandNumber());
+        hand.putLong(game.getHandSeed());
+        HandHistoryFormat.putVarLong(hand, game.getSmallBlind());
+        HandHistoryFormat.putVarLong(hand, game.getBigBlind());
+        hand.put((byte) game.getSeatCount());
+        hand.put((byte) game.getDealerSeat());
+        hand.put((byte) game.getSmallBlindSeat());
+        hand.put((byte) game.getBigBlindSeat());
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            Player player = game.getSeat(seat);
+            HandHistoryFormat.putVarLong(hand, player.getChips());
+            List<Card> cards = player.getHand();
+            hand.put(cards.size() == 2 ? (byte) cards.get(0).getId() : HandHistoryFormat.NO_CARD);
+            hand.put(cards.size() == 2 ? (byte) cards.get(1).getId() : HandHistoryFormat.NO_CARD);
+        }
+    }
+
+    @Override
+    public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+        hand.put(HandHistoryFormat.TAG_BLINDS);
+        HandHistoryFormat.putVarLong(hand, smallBlindPaid);
+        HandHistoryFormat.putVarLong(hand, bigBlindPaid);
+    }
+
+    @Override
+    public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+        hand.put(HandHistoryFormat.TAG_ACTION);
+        hand.put((byte) seat);
+        hand.put((byte) action.ordinal());
+        HandHistoryFormat.putVarLong(hand, amount);
+    }
+
+    @Override
+    public void streetDealt(PokerGame game, Street street) {
+        List<Card> board = game.getCommunityCards();
+        hand.put(HandHistoryFormat.TAG_STREET);
+        hand.put((byte) street.ordinal());
+        int first = street == Street.FLOP ? 0 : board.size() - 1;
+        hand.put((byte) (board.size() - first));
+        for (int i = first; i < board.size(); i++) {
+            hand.put((byte) board.get(i).getId());
+        }
+    }
+
+    @Override
+    public void potAwarded(PokerGame game, int seat, int amount) {
+        hand.put(HandHistoryFormat.TAG_AWARD);
+        hand.put((byte) seat);
+        HandHistoryFormat.putVarLong(hand, amount);
+    }
+
+    @Override
+    public void handEnded(PokerGame game) {
+        hand.put(HandHistoryFormat.TAG_END);
+        hand.flip();
+        batch.putInt(hand.remaining());
+        batch.put(hand);
+        handsInBatch++;
+        if (batch.position() >= HandHistoryWriter.BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    // Hands the current batch to the writer thread, even if it is not full; drops it if the writer failed
+    public void flush() {
+        if (handsInBatch == 0) {
+            return;
+        }
+        if (writer.submit(batch, handsInBatch)) {
+            batch = writer.takeBuffer();
+        } else {
+            batch.clear();
+        }
+        handsInBatch = 0;
+    }
+}
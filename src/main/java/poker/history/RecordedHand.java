@@ -0,0 +1,162 @@
+package poker.history;
+
+import poker.models.ActionType;
+import poker.models.Card;
+import poker.models.Street;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One hand read back from the hand-history log
+public class RecordedHand {
+
+    // A fold, check, call or raise, with the chips it put in
+    public static class Action {
+        private final Street street;
+        private final int seat;
+        private final ActionType type;
+        private final int amount;
+
+        Action(Street street, int seat, ActionType type, int amount) {
+            this.street = street;
+            this.seat = seat;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        public Street getStreet() {
+            return street;
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public ActionType getType() {
+            return type;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        @Override
+        public String toString() {
+            return street + " seat " + seat + " " + type + (amount > 0 ? " " + amount : "");
+        }
+    }
+
+    private final long handNumber;
+    private final long handSeed;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final int dealerSeat;
+    private final int smallBlindSeat;
+    private final int bigBlindSeat;
+    private final int[] startingStacks;
+    private final Card[][] holeCards;
+    private int smallBlindPaid;
+    private int bigBlindPaid;
+    private final List<Action> actions = new ArrayList<>();
+    private final List<Card> board = new ArrayList<>(5);
+    private final int[] awards;
+
+    RecordedHand(long handNumber, long handSeed, int smallBlind, int bigBlind, int seatCount,
+                 int dealerSeat, int smallBlindSeat, int bigBlindSeat) {
+        this.handNumber = handNumber;
+        this.handSeed = handSeed;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.dealerSeat = dealerSeat;
+        this.smallBlindSeat = smallBlindSeat;
+        this.bigBlindSeat = bigBlindSeat;
+        this.startingStacks = new int[seatCount];
+        this.holeCards = new Card[seatCount][];
+        this.awards = new int[seatCount];
+    }
+
+    void setSeat(int seat, int stack, Card[] cards) {
+        startingStacks[seat] = stack;
+        holeCards[seat] = cards;
+    }
+
+    void setBlinds(int smallBlindPaid, int bigBlindPaid) {
+        this.smallBlindPaid = smallBlindPaid;
+        this.bigBlindPaid = bigBlindPaid;
+    }
+
+    void addAction(Action action) {
+        actions.add(action);
+    }
+
+    void addBoardCard(Card card) {
+        board.add(card);
+    }
+
+    void addAward(int seat, int amount) {
+        awards[seat] += amount;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    // Seed the deck was dealt from; PokerGame.setNextHandSeed() deals the same cards again
+    public long getHandSeed() {
+        return handSeed;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
+    public int getSeatCount() {
+        return startingStacks.length;
+    }
+
+    public int getDealerSeat() {
+        return dealerSeat;
+    }
+
+    public int getSmallBlindSeat() {
+        return smallBlindSeat;
+    }
+
+    public int getBigBlindSeat() {
+        return bigBlindSeat;
+    }
+
+    public int getStartingStack(int seat) {
+        return startingStacks[seat];
+    }
+
+    // The two hole cards, or null when the seat sat the hand out
+    public Card[] getHoleCards(int seat) {
+        return holeCards[seat];
+    }
+
+    public int getSmallBlindPaid() {
+        return smallBlindPaid;
+    }
+
+    public int getBigBlindPaid() {
+        return bigBlindPaid;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public List<Card> getBoard() {
+        return board;
+    }
+
+    // Chips the seat won at showdown (0 if it won nothing)
+    public int getAward(int seat) {
+        return awards[seat];
+    }
+}
@@ -0,0 +1,163 @@
+package poker.log;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Level-gated, asynchronous log for the game engine. Callers check isEnabled() (or rely on log()
+ * doing it) so a disabled level costs a single volatile read. Enabled entries go into a lock-free
+ * ring as a message template plus up to three arguments; a daemon writer thread formats them ("{}"
+ * is replaced by the next argument) and writes them in batches, so the game thread never blocks on
+ * console I/O. When the ring is full, entries are dropped and counted rather than waited for.
+ */
+public final class GameLog {
+
+    private static final int RING_CAPACITY = 1 << 14;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile int threshold = LogLevel.WARN.ordinal();
+    private static volatile PrintStream output = System.out;
+    private static final LogRing ring = new LogRing(RING_CAPACITY);
+    private static final AtomicLong dropped = new AtomicLong();
+    private static volatile Thread writer;
+
+    private GameLog() {
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level.ordinal();
+    }
+
+    public static LogLevel getLevel() {
+        return LogLevel.values()[threshold];
+    }
+
+    public static void setOutput(PrintStream stream) {
+        output = stream;
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    // Entries lost because the ring was full
+    public static long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public static void log(LogLevel level, String source, String message) {
+        if (isEnabled(level)) {
+            enqueue(level, source, message, null, null, null, null);
+        }
+    }
+
+    public static void log(LogLevel level, String source, String message, Object arg0) {
+        if (isEnabled(level)) {
+            enqueue(level, source, message, arg0, null, null, null);
+        }
+    }
+
+    public static void log(LogLevel level, String source, String message, Object arg0, Object arg1) {
+        if (isEnabled(level)) {
+            enqueue(level, source, message, arg0, arg1, null, null);
+        }
+    }
+
+    public static void log(LogLevel level, String source, String message, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            enqueue(level, source, message, arg0, arg1, arg2, null);
+        }
+    }
+
+    public static void log(LogLevel level, String source, String message, Throwable error) {
+        if (isEnabled(level)) {
+            enqueue(level, source, message, null, null, null, error);
+        }
+    }
+
+    // Blocks until everything logged so far has been written
+    public static void flush() {
+        if (writer == null) {
+            return;
+        }
+        while (!ring.isDrained()) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+        output.flush();
+    }
+
+    private static void enqueue(LogLevel level, String source, String message,
+                                Object arg0, Object arg1, Object arg2, Throwable error) {
+        if (writer == null) {
+            startWriter();
+        }
+        if (!ring.offer(level, source, message, arg0, arg1, arg2, error)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private static synchronized void startWriter() {
+        if (writer != null) {
+            return;
+        }
+        Thread thread = new Thread(GameLog::drainLoop, "game-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameLog::drain, "game-log-shutdown"));
+        writer = thread;
+    }
+
+    private static void drainLoop() {
+        while (true) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    // Writes every published entry as one batch; returns false when there was nothing to write
+    private static synchronized boolean drain() {
+        LogRing.Entry entry = ring.peek();
+        if (entry == null) {
+            return false;
+        }
+        PrintStream out = output;
+        StringBuilder batch = new StringBuilder(256);
+        while (entry != null) {
+            format(entry, batch);
+            Throwable error = entry.error;
+            ring.release();
+            if (error != null) {
+                out.print(batch);
+                batch.setLength(0);
+                error.printStackTrace(out);
+            }
+            entry = ring.peek();
+        }
+        out.print(batch);
+        out.flush();
+        return true;
+    }
+
+    private static void format(LogRing.Entry entry, StringBuilder out) {
+        TIME_FORMAT.formatTo(Instant.ofEpochMilli(entry.timeMillis), out);
+        out.append(' ').append(entry.level).append(" [").append(entry.source).append("] ");
+
+        String message = entry.message;
+        Object[] args = {entry.arg0, entry.arg1, entry.arg2};
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+        while ((placeholder = message.indexOf("{}", start)) >= 0 && argIndex < args.length) {
+            out.append(message, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+        out.append(message, start, message.length()).append(System.lineSeparator());
+    }
+}
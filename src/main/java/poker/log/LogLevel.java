@@ -0,0 +1,6 @@
+package poker.log;
+
+// Severity of a game log entry; OFF disables logging entirely
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+}
@@ -0,0 +1,99 @@
+package poker.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring of log entries with many producers and a single consumer. Producers claim a
+ * slot with a CAS on the producer counter and publish it through the slot's sequence number; the
+ * writer thread reads published slots in order. Slots are preallocated and reused, and a full ring
+ * rejects the entry instead of blocking the game thread.
+ */
+final class LogRing {
+
+    // One preallocated, reusable entry per slot
+    static final class Entry {
+        LogLevel level;
+        long timeMillis;
+        String source;
+        String message;
+        Object arg0;
+        Object arg1;
+        Object arg2;
+        Throwable error;
+
+        void clear() {
+            source = null;
+            message = null;
+            arg0 = null;
+            arg1 = null;
+            arg2 = null;
+            error = null;
+        }
+    }
+
+    private final Entry[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong producerPosition = new AtomicLong();
+    private long consumerPosition; // only touched by the writer thread
+
+    LogRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two.");
+        }
+        entries = new Entry[capacity];
+        sequences = new AtomicLongArray(capacity);
+        mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry();
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(LogLevel level, String source, String message, Object arg0, Object arg1, Object arg2, Throwable error) {
+        long position = producerPosition.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerPosition.compareAndSet(position, position + 1)) {
+                    Entry entry = entries[index];
+                    entry.level = level;
+                    entry.timeMillis = System.currentTimeMillis();
+                    entry.source = source;
+                    entry.message = message;
+                    entry.arg0 = arg0;
+                    entry.arg1 = arg1;
+                    entry.arg2 = arg2;
+                    entry.error = error;
+                    sequences.lazySet(index, position + 1); // publish to the writer
+                    return true;
+                }
+                position = producerPosition.get();
+            } else if (difference < 0) {
+                return false; // ring is full
+            } else {
+                position = producerPosition.get(); // another producer took this slot
+            }
+        }
+    }
+
+    // Next published entry or null; the caller must release() it once it has been written
+    Entry peek() {
+        int index = (int) (consumerPosition & mask);
+        return sequences.get(index) == consumerPosition + 1 ? entries[index] : null;
+    }
+
+    void release() {
+        int index = (int) (consumerPosition & mask);
+        entries[index].clear();
+        sequences.lazySet(index, consumerPosition + entries.length);
+        consumerPosition++;
+    }
+
+    // True once every claimed slot has been consumed
+    boolean isDrained() {
+        return producerPosition.get() == consumerPosition;
+    }
+}
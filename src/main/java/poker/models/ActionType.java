@@ -0,0 +1,6 @@
+package poker.models;
+
+// What a player did on their turn; a check is a call of nothing
+public enum ActionType {
+    FOLD, CHECK, CALL, RAISE
+}
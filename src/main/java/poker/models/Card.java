@@ -1,17 +1,105 @@
 package poker.models;
 
-public class Card {
+import java.util.List;
 
-    private String rank;
-    private String suit;
+public final class Card {
 
-    // Constructor
-    public Card(String rank, String suit) {
-        this.rank = rank;
-        this.suit = suit;
+    // Ranks from lowest to highest and suits in a fixed order; the index into these strings is the int encoding
+    public static final String RANKS = "23456789TJQKA";
+    public static final String SUITS = "CDHS";
+
+    public static final int RANK_COUNT = 13;
+    public static final int SUIT_COUNT = 4;
+    public static final int DECK_SIZE = RANK_COUNT * SUIT_COUNT;
+
+    // One shared instance per card, indexed by id (rank * 4 + suit)
+    private static final Card[] CARDS = new Card[DECK_SIZE];
+
+    static {
+        for (int rank = 0; rank < RANK_COUNT; rank++) {
+            for (int suit = 0; suit < SUIT_COUNT; suit++) {
+                CARDS[rank * SUIT_COUNT + suit] = new Card(rank, suit);
+            }
+        }
+    }
+
+    private final int id;
+    private final int rankIndex;
+    private final int suitIndex;
+    private final long mask;
+    private final String rank;
+    private final String suit;
+    private final String name;
+
+    private Card(int rankIndex, int suitIndex) {
+        this.id = rankIndex * SUIT_COUNT + suitIndex;
+        this.rankIndex = rankIndex;
+        this.suitIndex = suitIndex;
+        // Bitmask layout keeps each suit in its own 16-bit lane so evaluators can pull out per-suit rank sets
+        this.mask = 1L << (suitIndex * 16 + rankIndex);
+        this.rank = String.valueOf(RANKS.charAt(rankIndex));
+        this.suit = String.valueOf(SUITS.charAt(suitIndex));
+        this.name = rank + suit;
+    }
+
+    // Factory methods returning the shared instances
+    public static Card of(int id) {
+        return CARDS[id];
+    }
+
+    public static Card of(int rankIndex, int suitIndex) {
+        return CARDS[rankIndex * SUIT_COUNT + suitIndex];
+    }
+
+    public static Card of(String rank, String suit) {
+        int rankIndex = rank.length() == 1 ? RANKS.indexOf(rank.charAt(0)) : -1;
+        int suitIndex = suit.length() == 1 ? SUITS.indexOf(suit.charAt(0)) : -1;
+        if (rankIndex < 0 || suitIndex < 0) {
+            throw new IllegalArgumentException("Invalid card: " + rank + suit);
+        }
+        return of(rankIndex, suitIndex);
+    }
+
+    // Parses the two-character form produced by toString(), e.g. "AS" or "TD"
+    public static Card parse(String text) {
+        if (text == null || text.length() != 2) {
+            throw new IllegalArgumentException("Invalid card: " + text);
+        }
+        return of(text.substring(0, 1), text.substring(1));
+    }
+
+    // Finds the card for a single bit of a 64-bit card mask
+    public static Card fromMaskBit(long bit) {
+        int index = Long.numberOfTrailingZeros(bit);
+        return of(index & 15, index >>> 4);
+    }
+
+    // Builds the 64-bit mask of a list of cards (hand, board, dead cards)
+    public static long maskOf(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= cards.get(i).mask;
+        }
+        return mask;
     }
 
     // Getters
+    public int getId() {
+        return id;
+    }
+
+    public int getRankIndex() {
+        return rankIndex;
+    }
+
+    public int getSuitIndex() {
+        return suitIndex;
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
     public String getRank() {
         return rank;
     }
@@ -23,26 +111,17 @@ public class Card {
     // ToString for human-readable representation
     @Override
     public String toString() {
-        return rank + suit;
+        return name;
     }
 
-    // Equals and HashCode (optional, in case you need comparisons)
+    // Cards are singletons, so identity and id comparisons are equivalent
     @Override
     public boolean equals(Object obj) {
-        if (this == obj) return true;
-        if (obj == null || getClass() != obj.getClass()) return false;
-        Card card = (Card) obj;
-        return rank.equals(card.rank) && suit.equals(card.suit);
+        return this == obj;
     }
 
     @Override
     public int hashCode() {
-        int result = rank.hashCode();
-        result = 31 * result + suit.hashCode();
-        return result;
+        return id;
     }
-    // Getter for value
-
-
-
 }
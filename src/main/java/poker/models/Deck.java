@@ -1,51 +1,87 @@
 package poker.models;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Stack;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class Deck {
-    private Stack<Card> cards;
+    // Card ids; everything before cursor has been dealt, everything from cursor on is still in the deck
+    private final int[] cards = new int[Card.DECK_SIZE];
+    private int cursor;
+    private RandomGenerator random;
 
     public Deck() {
-        cards = new Stack<>();
-        String[] suits = {"H", "D", "C", "S"};
-        String[] ranks = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K", "A"};
-
-        for (String suit : suits) {
-            for (String rank : ranks) {
-                cards.push(new Card(rank, suit));
-            }
+        this(new SplittableRandom());
+    }
+
+    public Deck(RandomGenerator random) {
+        this.random = random;
+        restoreOrder();
+    }
+
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    // Deals from a fresh generator with the given seed, replacing the one passed to the constructor or
+    // setRandom, and puts every card back in its original order, so the same seed always deals the same
+    // cards whatever was dealt before. PokerGame uses it once per hand with a seed from its own generator.
+    public void setSeed(long seed) {
+        this.random = new SplittableRandom(seed);
+        cursor = 0;
+        restoreOrder();
+    }
+
+    private void restoreOrder() {
+        for (int id = 0; id < Card.DECK_SIZE; id++) {
+            cards[id] = id;
         }
     }
 
+    // Returns every dealt card to the deck. Shuffling is lazy: each deal picks a random card from the
+    // undealt part (partial Fisher-Yates), so only as many cards get randomized as are actually dealt.
     public void shuffle() {
-        Collections.shuffle(cards);
+        cursor = 0;
+    }
+
+    public void reset() {
+        cursor = 0;
+    }
+
+    public int remaining() {
+        return Card.DECK_SIZE - cursor;
     }
 
     public Card drawCard() {
-        if (!cards.isEmpty()) {
-            return cards.pop();
-        } else {
-            throw new IllegalStateException("Deck is empty");
-        }
+        return Card.of(dealId());
     }
 
     public Card dealCard() {
-        if (cards.isEmpty()) {
-            throw new IllegalStateException("The deck is empty!");
-        }
-        return cards.remove(0); // Assuming `cards` is a list of `Card`
-    }
-    public List<Card> getCards() {
-        return cards;
+        return Card.of(dealId());
     }
 
     public Card deal() {
-        if (!cards.isEmpty()) {
-            return cards.remove(0);
-        } else {
+        return Card.of(dealId());
+    }
+
+    public int dealId() {
+        if (cursor == Card.DECK_SIZE) {
             throw new IllegalStateException("Deck is empty");
         }
+        int pick = cursor + random.nextInt(Card.DECK_SIZE - cursor);
+        int id = cards[pick];
+        cards[pick] = cards[cursor];
+        cards[cursor++] = id;
+        return id;
+    }
+
+    // Snapshot of the cards still in the deck
+    public List<Card> getCards() {
+        List<Card> remaining = new ArrayList<>(remaining());
+        for (int i = cursor; i < Card.DECK_SIZE; i++) {
+            remaining.add(Card.of(cards[i]));
+        }
+        return remaining;
     }
 }
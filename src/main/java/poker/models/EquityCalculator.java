@@ -0,0 +1,324 @@
+package poker.models;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes all-in equity for two or more hole-card hands against a partial board, either by sampling
+ * the remaining board runouts or by enumerating every one of them. Work is split across a fork/join
+ * pool; sampling workers draw from their own thread-local random generator.
+ */
+public class EquityCalculator {
+
+    // Trials below this size are run on a single worker instead of being split further
+    private static final int MIN_TRIALS_PER_TASK = 10_000;
+    // Trials run per round when working against a time or error budget
+    private static final int BUDGET_BATCH = 200_000;
+
+    private final ForkJoinPool pool;
+
+    public EquityCalculator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EquityCalculator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Runs a fixed number of sampled runouts
+    public EquityResult simulate(List<List<Card>> holeCards, List<Card> board, long trials) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Trial count must be positive.");
+        }
+        Setup setup = new Setup(holeCards, board);
+        return setup.toResult(runTrials(setup, trials), false);
+    }
+
+    /**
+     * Samples in rounds until the time budget is spent or every player's standard error drops below
+     * targetError (pass 0 to only use the time budget). At least one round always runs.
+     */
+    public EquityResult simulate(List<List<Card>> holeCards, List<Card> board, Duration timeBudget, double targetError) {
+        Setup setup = new Setup(holeCards, board);
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Tally total = new Tally(setup.players);
+        EquityResult result;
+        do {
+            total.add(runTrials(setup, BUDGET_BATCH));
+            result = setup.toResult(total, false);
+        } while (System.nanoTime() < deadline && result.getMaxStandardError() >= targetError);
+        return result;
+    }
+
+    /**
+     * Walks every remaining runout exactly once. Runouts are split across workers by their first card.
+     * Each level of the walk extends the board's rank set and per-suit counts by one card, so the part
+     * of the evaluation every player shares (ranks on the board, which suit can still flush) is worked
+     * out once per prefix instead of once per player and runout.
+     */
+    public EquityResult enumerate(List<List<Card>> holeCards, List<Card> board) {
+        Setup setup = new Setup(holeCards, board);
+        if (setup.missingBoardCards == 0) {
+            Tally tally = new Tally(setup.players);
+            setup.score(setup.boardMask, new int[setup.players], tally);
+            return setup.toResult(tally, true);
+        }
+        int firstCards = setup.liveCards.length - setup.missingBoardCards + 1;
+        return setup.toResult(pool.invoke(new EnumerateTask(setup, 0, firstCards)), true);
+    }
+
+    private Tally runTrials(Setup setup, long trials) {
+        int parallelism = pool.getParallelism();
+        long threshold = Math.max(MIN_TRIALS_PER_TASK, trials / (parallelism * 4L));
+        return pool.invoke(new SampleTask(setup, trials, threshold));
+    }
+
+    // Validated input shared read-only by every worker
+    static final class Setup {
+        final int players;
+        final long[] holeMasks;
+        final long boardMask;
+        final int missingBoardCards;
+        final long[] liveCards; // undealt cards as single-bit masks
+        final int[] liveRanks;   // rank bit of each live card
+        final int[] liveSuitCounts; // 1 in the byte of each live card's suit, see suitCounts()
+        final int[] holeRanks;
+        final int boardRanks;
+        final int boardSuitCounts;
+
+        Setup(List<List<Card>> holeCards, List<Card> board) {
+            if (holeCards == null || holeCards.size() < 2) {
+                throw new IllegalArgumentException("Equity needs at least 2 players.");
+            }
+            if (board == null || board.size() > 5) {
+                throw new IllegalArgumentException("Board must contain at most 5 cards.");
+            }
+            players = holeCards.size();
+            holeMasks = new long[players];
+            long dead = 0L;
+            for (int i = 0; i < players; i++) {
+                List<Card> hand = holeCards.get(i);
+                if (hand == null || hand.size() != 2) {
+                    throw new IllegalArgumentException("Each hand must contain exactly 2 cards.");
+                }
+                holeMasks[i] = Card.maskOf(hand);
+                dead = addDead(dead, holeMasks[i], 2);
+            }
+            boardMask = Card.maskOf(board);
+            dead = addDead(dead, boardMask, board.size());
+            missingBoardCards = 5 - board.size();
+
+            holeRanks = new int[players];
+            for (int i = 0; i < players; i++) {
+                holeRanks[i] = rankSet(holeMasks[i]);
+            }
+            boardRanks = rankSet(boardMask);
+            boardSuitCounts = suitCounts(boardMask);
+
+            liveCards = new long[Card.DECK_SIZE - Long.bitCount(dead)];
+            liveRanks = new int[liveCards.length];
+            liveSuitCounts = new int[liveCards.length];
+            int count = 0;
+            for (int id = 0; id < Card.DECK_SIZE; id++) {
+                Card card = Card.of(id);
+                long mask = card.getMask();
+                if ((dead & mask) == 0) {
+                    liveCards[count] = mask;
+                    liveRanks[count] = 1 << card.getRankIndex();
+                    liveSuitCounts[count] = 1 << (card.getSuitIndex() * 8);
+                    count++;
+                }
+            }
+        }
+
+        private static int rankSet(long cards) {
+            return (int) ((cards | cards >>> 16 | cards >>> 32 | cards >>> 48) & 0x1FFF);
+        }
+
+        // Number of cards in each suit, one byte per suit
+        private static int suitCounts(long cards) {
+            int counts = 0;
+            for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+                counts |= Long.bitCount((cards >>> (suit * 16)) & 0x1FFF) << (suit * 8);
+            }
+            return counts;
+        }
+
+        // A flush needs three board cards of its suit, and a five-card board has room for one such suit
+        private static int flushSuit(int boardSuitCounts) {
+            // Adding 5 to each count (at most 5) sets bit 3 of its byte exactly when the count is 3 or more
+            int atLeastThree = (boardSuitCounts + 0x05050505) & 0x08080808;
+            return atLeastThree == 0 ? -1 : Integer.numberOfTrailingZeros(atLeastThree) >>> 3;
+        }
+
+        private static long addDead(long dead, long cards, int expectedCount) {
+            if ((dead & cards) != 0 || Long.bitCount(cards) != expectedCount) {
+                throw new IllegalArgumentException("The same card cannot appear twice.");
+            }
+            return dead | cards;
+        }
+
+        // Scores one complete board and credits the winners
+        void score(long fullBoard, int[] values, Tally tally) {
+            score(fullBoard, rankSet(fullBoard), suitCounts(fullBoard), values, tally);
+        }
+
+        // Same, with the board's rank set and suit counts already known
+        void score(long fullBoard, int fullBoardRanks, int fullBoardSuitCounts, int[] values, Tally tally) {
+            int flushSuit = flushSuit(fullBoardSuitCounts);
+            int best = -1;
+            int winners = 0;
+            for (int i = 0; i < players; i++) {
+                int value = HandEvaluator.evaluate(holeMasks[i] | fullBoard, holeRanks[i] | fullBoardRanks, flushSuit);
+                values[i] = value;
+                if (value > best) {
+                    best = value;
+                    winners = 1;
+                } else if (value == best) {
+                    winners++;
+                }
+            }
+            tally.trials++;
+            if (winners == 1) {
+                for (int i = 0; i < players; i++) {
+                    if (values[i] == best) {
+                        tally.wins[i]++;
+                        tally.shares[i] += 1.0;
+                        return;
+                    }
+                }
+            }
+            double share = 1.0 / winners;
+            for (int i = 0; i < players; i++) {
+                if (values[i] == best) {
+                    tally.ties[i]++;
+                    tally.shares[i] += share;
+                }
+            }
+        }
+
+        EquityResult toResult(Tally tally, boolean exact) {
+            return new EquityResult(tally.trials, tally.wins, tally.ties, tally.shares, exact);
+        }
+    }
+
+    // Per-worker counters, merged up the fork/join tree
+    static final class Tally {
+        long trials;
+        final long[] wins;
+        final long[] ties;
+        final double[] shares;
+
+        Tally(int players) {
+            wins = new long[players];
+            ties = new long[players];
+            shares = new double[players];
+        }
+
+        Tally add(Tally other) {
+            trials += other.trials;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+                ties[i] += other.ties[i];
+                shares[i] += other.shares[i];
+            }
+            return this;
+        }
+    }
+
+    private static final class EnumerateTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Setup setup;
+        private final int from;
+        private final int to;
+
+        EnumerateTask(Setup setup, int from, int to) {
+            this.setup = setup;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                EnumerateTask left = new EnumerateTask(setup, from, middle);
+                left.fork();
+                Tally right = new EnumerateTask(setup, middle, to).compute();
+                return right.add(left.join());
+            }
+
+            Tally tally = new Tally(setup.players);
+            int[] values = new int[setup.players];
+            walk(from, setup.boardMask | setup.liveCards[from], setup.boardRanks | setup.liveRanks[from],
+                    setup.boardSuitCounts + setup.liveSuitCounts[from], setup.missingBoardCards - 1, values, tally);
+            return tally;
+        }
+
+        /**
+         * Extends the board one card at a time, carrying its mask, rank set and suit counts down to the
+         * leaves. Cards are taken in increasing order so each runout is seen once.
+         */
+        private void walk(int last, long board, int ranks, int suitCounts, int remaining, int[] values, Tally tally) {
+            if (remaining == 0) {
+                setup.score(board, ranks, suitCounts, values, tally);
+                return;
+            }
+            long[] live = setup.liveCards;
+            for (int i = last + 1; i <= live.length - remaining; i++) {
+                walk(i, board | live[i], ranks | setup.liveRanks[i], suitCounts + setup.liveSuitCounts[i],
+                        remaining - 1, values, tally);
+            }
+        }
+    }
+
+    private static final class SampleTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final Setup setup;
+        private final long trials;
+        private final long threshold;
+
+        SampleTask(Setup setup, long trials, long threshold) {
+            this.setup = setup;
+            this.trials = trials;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (trials > threshold) {
+                long half = trials / 2;
+                SampleTask left = new SampleTask(setup, half, threshold);
+                left.fork();
+                Tally right = new SampleTask(setup, trials - half, threshold).compute();
+                return right.add(left.join());
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long[] deck = setup.liveCards.clone();
+            int[] values = new int[setup.players];
+            Tally tally = new Tally(setup.players);
+            int missing = setup.missingBoardCards;
+            int live = deck.length;
+
+            for (long t = 0; t < trials; t++) {
+                // Partial Fisher-Yates: only the cards needed to complete the board are shuffled
+                long board = setup.boardMask;
+                for (int i = 0; i < missing; i++) {
+                    int j = i + random.nextInt(live - i);
+                    long card = deck[j];
+                    deck[j] = deck[i];
+                    deck[i] = card;
+                    board |= card;
+                }
+                setup.score(board, values, tally);
+            }
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package poker.models;
+
+public class EquityResult {
+
+    private final long trials;
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] equity;
+    private final boolean exact;
+
+    public EquityResult(long trials, long[] wins, long[] ties, double[] equityShares, boolean exact) {
+        this.trials = trials;
+        this.wins = wins.clone();
+        this.ties = ties.clone();
+        this.exact = exact;
+        this.equity = new double[equityShares.length];
+        for (int i = 0; i < equityShares.length; i++) {
+            equity[i] = trials == 0 ? 0.0 : equityShares[i] / trials;
+        }
+    }
+
+    public int getPlayerCount() {
+        return equity.length;
+    }
+
+    // Number of sampled or enumerated board runouts
+    public long getTrials() {
+        return trials;
+    }
+
+    // True when every runout was enumerated rather than sampled
+    public boolean isExact() {
+        return exact;
+    }
+
+    // Share of the pot the player wins on average, counting split pots fractionally
+    public double getEquity(int player) {
+        return equity[player];
+    }
+
+    public double getWinProbability(int player) {
+        return trials == 0 ? 0.0 : (double) wins[player] / trials;
+    }
+
+    public double getTieProbability(int player) {
+        return trials == 0 ? 0.0 : (double) ties[player] / trials;
+    }
+
+    // Standard error of the equity estimate; zero for exact results
+    public double getStandardError(int player) {
+        if (exact || trials == 0) {
+            return 0.0;
+        }
+        double p = equity[player];
+        return Math.sqrt(p * (1 - p) / trials);
+    }
+
+    public double getMaxStandardError() {
+        double max = 0.0;
+        for (int i = 0; i < equity.length; i++) {
+            max = Math.max(max, getStandardError(i));
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("EquityResult{trials=").append(trials).append(exact ? ", exact" : "");
+        for (int i = 0; i < equity.length; i++) {
+            sb.append(String.format(", p%d=%.4f (win %.4f, tie %.4f)", i, getEquity(i), getWinProbability(i), getTieProbability(i)));
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,309 @@
+package poker.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One thing that happened at a table, as delivered to the listeners added with PokerGame.addListener.
+ * Events are immutable snapshots taken when they happened, so listeners on other threads can read them
+ * freely and never need to query the game.
+ */
+public abstract class GameEvent {
+
+    public enum Type {
+        HAND_STARTED, BLINDS_POSTED, ACTION_TAKEN, STREET_DEALT, HUMAN_TURN, SHOWDOWN, POT_AWARDED, HAND_ENDED,
+        EVENTS_DROPPED
+    }
+
+    private final Type type;
+    private final long handNumber;
+
+    GameEvent(Type type, long handNumber) {
+        this.type = type;
+        this.handNumber = handNumber;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + handNumber + " " + type;
+    }
+
+    // Cards are dealt and the button and blinds are set
+    public static final class HandStarted extends GameEvent {
+        private final int dealerSeat;
+        private final int smallBlindSeat;
+        private final int bigBlindSeat;
+        private final int[] stacks;
+        private final List<List<Card>> holeCards;
+
+        HandStarted(PokerGame game) {
+            super(Type.HAND_STARTED, game.getHandNumber());
+            this.dealerSeat = game.getDealerSeat();
+            this.smallBlindSeat = game.getSmallBlindSeat();
+            this.bigBlindSeat = game.getBigBlindSeat();
+            this.stacks = stacksOf(game);
+            this.holeCards = holeCardsOf(game, -1);
+        }
+
+        public int getDealerSeat() {
+            return dealerSeat;
+        }
+
+        public int getSmallBlindSeat() {
+            return smallBlindSeat;
+        }
+
+        public int getBigBlindSeat() {
+            return bigBlindSeat;
+        }
+
+        public int getStack(int seat) {
+            return stacks[seat];
+        }
+
+        // Empty for a seat sitting the hand out
+        public List<Card> getHoleCards(int seat) {
+            return holeCards.get(seat);
+        }
+    }
+
+    public static final class BlindsPosted extends GameEvent {
+        private final int smallBlindSeat;
+        private final int smallBlindPaid;
+        private final int bigBlindSeat;
+        private final int bigBlindPaid;
+
+        BlindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+            super(Type.BLINDS_POSTED, game.getHandNumber());
+            this.smallBlindSeat = game.getSmallBlindSeat();
+            this.smallBlindPaid = smallBlindPaid;
+            this.bigBlindSeat = game.getBigBlindSeat();
+            this.bigBlindPaid = bigBlindPaid;
+        }
+
+        public int getSmallBlindSeat() {
+            return smallBlindSeat;
+        }
+
+        public int getSmallBlindPaid() {
+            return smallBlindPaid;
+        }
+
+        public int getBigBlindSeat() {
+            return bigBlindSeat;
+        }
+
+        public int getBigBlindPaid() {
+            return bigBlindPaid;
+        }
+    }
+
+    public static final class ActionTaken extends GameEvent {
+        private final int seat;
+        private final Street street;
+        private final ActionType action;
+        private final int amount;
+        private final int stack;
+        private final int pot;
+
+        ActionTaken(PokerGame game, int seat, ActionType action, int amount) {
+            super(Type.ACTION_TAKEN, game.getHandNumber());
+            this.seat = seat;
+            this.street = game.getStreet();
+            this.action = action;
+            this.amount = amount;
+            this.stack = game.getSeat(seat).getChips();
+            this.pot = game.getPot();
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public Street getStreet() {
+            return street;
+        }
+
+        public ActionType getAction() {
+            return action;
+        }
+
+        // Chips the player put in with this action
+        public int getAmount() {
+            return amount;
+        }
+
+        // The player's chips and the pot after the action
+        public int getStack() {
+            return stack;
+        }
+
+        public int getPot() {
+            return pot;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " seat " + seat + " " + action + " " + amount;
+        }
+    }
+
+    public static final class StreetDealt extends GameEvent {
+        private final Street street;
+        private final List<Card> board;
+
+        StreetDealt(PokerGame game, Street street) {
+            super(Type.STREET_DEALT, game.getHandNumber());
+            this.street = street;
+            this.board = List.copyOf(game.getCommunityCards());
+        }
+
+        public Street getStreet() {
+            return street;
+        }
+
+        // The full board so far, not just the cards this street added
+        public List<Card> getBoard() {
+            return board;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " " + street + " " + board;
+        }
+    }
+
+    public static final class HumanTurn extends GameEvent {
+        private final int seat;
+        private final int pot;
+
+        HumanTurn(PokerGame game, int seat) {
+            super(Type.HUMAN_TURN, game.getHandNumber());
+            this.seat = seat;
+            this.pot = game.getPot();
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public int getPot() {
+            return pot;
+        }
+    }
+
+    // The players left in the hand show their cards
+    public static final class Showdown extends GameEvent {
+        private final int liveMask;
+        private final List<Card> board;
+        private final List<List<Card>> shownCards;
+
+        Showdown(PokerGame game, int liveMask) {
+            super(Type.SHOWDOWN, game.getHandNumber());
+            this.liveMask = liveMask;
+            this.board = List.copyOf(game.getCommunityCards());
+            this.shownCards = holeCardsOf(game, liveMask);
+        }
+
+        public boolean isShown(int seat) {
+            return (liveMask & (1 << seat)) != 0;
+        }
+
+        public List<Card> getBoard() {
+            return board;
+        }
+
+        // Empty for a seat that did not reach the showdown
+        public List<Card> getShownCards(int seat) {
+            return shownCards.get(seat);
+        }
+    }
+
+    public static final class PotAwarded extends GameEvent {
+        private final int seat;
+        private final int amount;
+
+        PotAwarded(PokerGame game, int seat, int amount) {
+            super(Type.POT_AWARDED, game.getHandNumber());
+            this.seat = seat;
+            this.amount = amount;
+        }
+
+        public int getSeat() {
+            return seat;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " seat " + seat + " " + amount;
+        }
+    }
+
+    public static final class HandEnded extends GameEvent {
+        private final int[] stacks;
+
+        HandEnded(PokerGame game) {
+            super(Type.HAND_ENDED, game.getHandNumber());
+            this.stacks = stacksOf(game);
+        }
+
+        public int getStack(int seat) {
+            return stacks[seat];
+        }
+    }
+
+    /**
+     * Not something that happened at the table: count events were dropped here because this listener had
+     * fallen too far behind. It comes right before the first event after the gap, or last in its batch if
+     * none has arrived yet, and carries the hand number of the event next to it. A listener that keeps
+     * state from the stream should rebuild it from the next HandStarted.
+     */
+    public static final class EventsDropped extends GameEvent {
+        private final long count;
+
+        EventsDropped(long handNumber, long count) {
+            super(Type.EVENTS_DROPPED, handNumber);
+            this.count = count;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String toString() {
+            return super.toString() + " " + count;
+        }
+    }
+
+    private static int[] stacksOf(PokerGame game) {
+        int[] stacks = new int[game.getSeatCount()];
+        for (int seat = 0; seat < stacks.length; seat++) {
+            stacks[seat] = game.getSeat(seat).getChips();
+        }
+        return stacks;
+    }
+
+    // Every seat's hole cards, or only those of the seats in mask when mask is not -1
+    private static List<List<Card>> holeCardsOf(PokerGame game, int mask) {
+        List<List<Card>> cards = new ArrayList<>(game.getSeatCount());
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            boolean included = mask == -1 || (mask & (1 << seat)) != 0;
+            cards.add(included ? List.copyOf(game.getSeat(seat).getCards()) : List.of());
+        }
+        return Collections.unmodifiableList(cards);
+    }
+}
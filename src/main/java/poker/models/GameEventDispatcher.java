@@ -0,0 +1,255 @@
+package poker.models;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Turns a game's HandObserver callbacks into GameEvents and delivers them to its PokerGameListeners.
+ * Every listener has its own queue and delivery thread: the game only appends to the queues and never
+ * waits, and each time a delivery thread wakes it hands its listener every event queued since the last
+ * call in one onEvents batch. A slow listener falls behind on its own without slowing the game or the
+ * other listeners. Queues are bounded like GameLog's ring: once a listener is QUEUE_CAPACITY events
+ * behind, new events for it are dropped and counted, its delivery thread logs a warning, and the
+ * listener gets a GameEvent.EventsDropped where the gap is in its stream.
+ */
+final class GameEventDispatcher implements HandObserver {
+
+    private static final String LOG_SOURCE = "GameEventDispatcher";
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    static final int QUEUE_CAPACITY = 1 << 13;
+
+    private Delivery[] deliveries = new Delivery[0];
+    private final AtomicLong dropped = new AtomicLong();
+
+    void addListener(PokerGameListener listener) {
+        Delivery delivery = new Delivery(listener, dropped);
+        Delivery[] updated = Arrays.copyOf(deliveries, deliveries.length + 1);
+        updated[deliveries.length] = delivery;
+        deliveries = updated;
+        delivery.thread.start();
+    }
+
+    // Stops the listener's delivery thread once the events already queued for it are delivered
+    boolean removeListener(PokerGameListener listener) {
+        for (Delivery delivery : deliveries) {
+            if (delivery.listener == listener) {
+                deliveries = Arrays.stream(deliveries).filter(d -> d != delivery).toArray(Delivery[]::new);
+                delivery.close();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return deliveries.length == 0;
+    }
+
+    // Events lost, across all listeners, because a listener's queue was full
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void publish(GameEvent event) {
+        for (Delivery delivery : deliveries) {
+            delivery.offer(event);
+        }
+    }
+
+    @Override
+    public void handStarted(PokerGame game) {
+        publish(new GameEvent.HandStarted(game));
+    }
+
+    @Override
+    public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+        publish(new GameEvent.BlindsPosted(game, smallBlindPaid, bigBlindPaid));
+    }
+
+    @Override
+    public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+        publish(new GameEvent.ActionTaken(game, seat, action, amount));
+    }
+
+    @Override
+    public void streetDealt(PokerGame game, Street street) {
+        publish(new GameEvent.StreetDealt(game, street));
+    }
+
+    @Override
+    public void humanTurn(PokerGame game, int seat) {
+        publish(new GameEvent.HumanTurn(game, seat));
+    }
+
+    @Override
+    public void showdown(PokerGame game, int liveMask) {
+        publish(new GameEvent.Showdown(game, liveMask));
+    }
+
+    @Override
+    public void potAwarded(PokerGame game, int seat, int amount) {
+        publish(new GameEvent.PotAwarded(game, seat, amount));
+    }
+
+    @Override
+    public void handEnded(PokerGame game) {
+        publish(new GameEvent.HandEnded(game));
+    }
+
+    private static final class Delivery implements Runnable {
+        private final PokerGameListener listener;
+        private final EventRing queue = new EventRing(QUEUE_CAPACITY);
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong totalDropped;
+        private final Thread thread;
+        private volatile boolean parked;
+        private volatile boolean closed;
+        private long droppedByGame; // same as dropped, but only touched by the game's thread
+
+        Delivery(PokerGameListener listener, AtomicLong totalDropped) {
+            this.listener = listener;
+            this.totalDropped = totalDropped;
+            this.thread = new Thread(this, "game-events-" + THREAD_IDS.incrementAndGet());
+            thread.setDaemon(true);
+        }
+
+        // Only wakes the delivery thread when it is asleep, so a burst of events costs one wake-up
+        void offer(GameEvent event) {
+            if (!queue.offer(event, droppedByGame)) {
+                droppedByGame++;
+                dropped.incrementAndGet();
+                totalDropped.incrementAndGet();
+            }
+            if (parked) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        void close() {
+            closed = true;
+            LockSupport.unpark(thread);
+        }
+
+        @Override
+        public void run() {
+            List<GameEvent> batch = new ArrayList<>();
+            long reportedDrops = 0; // logged
+            long markedDrops = 0;   // told to the listener
+            long handNumber = 0;    // of the last event delivered
+            while (true) {
+                GameEvent event;
+                while ((event = queue.poll()) != null) {
+                    handNumber = event.getHandNumber();
+                    if (queue.droppedBeforePolled > markedDrops) {
+                        batch.add(new GameEvent.EventsDropped(handNumber, queue.droppedBeforePolled - markedDrops));
+                        markedDrops = queue.droppedBeforePolled;
+                    }
+                    batch.add(event);
+                }
+                // Drops no queued event will carry: read the count first, so an empty queue means all came before
+                long drops = dropped.get();
+                if (drops > markedDrops && queue.isEmpty()) {
+                    batch.add(new GameEvent.EventsDropped(handNumber, drops - markedDrops));
+                    markedDrops = drops;
+                }
+                if (!batch.isEmpty()) {
+                    try {
+                        listener.onEvents(batch);
+                    } catch (RuntimeException e) {
+                        GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Game listener failed", e);
+                    }
+                    batch = new ArrayList<>(); // the listener may keep the delivered list
+                    if (drops != reportedDrops) {
+                        GameLog.log(LogLevel.WARN, LOG_SOURCE, "Listener on {} fell behind; {} events dropped so far",
+                                thread.getName(), drops);
+                        reportedDrops = drops;
+                    }
+                    continue;
+                }
+                if (closed) {
+                    return;
+                }
+                // Announce the sleep before the last look at the queue so an offer cannot be missed
+                parked = true;
+                if (queue.isEmpty() && !closed) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    /**
+     * Bounded lock-free ring of events, on the same scheme as GameLog's LogRing: a producer claims a slot
+     * with a CAS on the producer counter and publishes it through the slot's sequence number, and the
+     * delivery thread takes published slots in order. A full ring rejects the event instead of blocking.
+     * Each slot also carries how many events the ring had rejected in total when it was offered.
+     */
+    private static final class EventRing {
+        private final GameEvent[] events;
+        private final long[] droppedBefore;
+        private final AtomicLongArray sequences;
+        private final int mask;
+        private final AtomicLong producerPosition = new AtomicLong();
+        private long consumerPosition; // only touched by the delivery thread
+        long droppedBeforePolled;       // rejected before the event poll() last returned; delivery thread only
+
+        EventRing(int capacity) {
+            events = new GameEvent[capacity];
+            droppedBefore = new long[capacity];
+            sequences = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        boolean offer(GameEvent event, long dropped) {
+            long position = producerPosition.get();
+            while (true) {
+                int index = (int) (position & mask);
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (producerPosition.compareAndSet(position, position + 1)) {
+                        events[index] = event;
+                        droppedBefore[index] = dropped;
+                        sequences.lazySet(index, position + 1); // publish to the delivery thread
+                        return true;
+                    }
+                    position = producerPosition.get();
+                } else if (difference < 0) {
+                    return false; // ring is full
+                } else {
+                    position = producerPosition.get(); // another producer took this slot
+                }
+            }
+        }
+
+        // Next published event or null
+        GameEvent poll() {
+            int index = (int) (consumerPosition & mask);
+            if (sequences.get(index) != consumerPosition + 1) {
+                return null;
+            }
+            GameEvent event = events[index];
+            events[index] = null;
+            droppedBeforePolled = droppedBefore[index];
+            sequences.lazySet(index, consumerPosition + events.length);
+            consumerPosition++;
+            return event;
+        }
+
+        // True once every claimed slot has been consumed
+        boolean isEmpty() {
+            return producerPosition.get() == consumerPosition;
+        }
+    }
+}
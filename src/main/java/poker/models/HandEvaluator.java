@@ -4,7 +4,62 @@ import java.util.List;
 
 public class HandEvaluator {
 
-    private static final HandRange handRange = new HandRange();
+    // Hand categories, stored in the top bits of a showdown value
+    public static final int HIGH_CARD = 0;
+    public static final int ONE_PAIR = 1;
+    public static final int TWO_PAIR = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT = 4;
+    public static final int FLUSH = 5;
+    public static final int FULL_HOUSE = 6;
+    public static final int FOUR_OF_A_KIND = 7;
+    public static final int STRAIGHT_FLUSH = 8;
+
+    private static final String[] CATEGORY_NAMES = {
+            "High Card", "One Pair", "Two Pair", "Three of a Kind", "Straight",
+            "Flush", "Full House", "Four of a Kind", "Straight Flush"
+    };
+
+    private static final int CATEGORY_SHIFT = 20;
+    private static final int RANK_MASK_SIZE = 1 << Card.RANK_COUNT;
+
+    // Lookup tables indexed by a 13-bit rank set
+    private static final byte[] TOP_CARD = new byte[RANK_MASK_SIZE];   // highest rank in the set
+    private static final int[] TOP_FIVE = new int[RANK_MASK_SIZE];     // top five ranks packed into nibbles
+    private static final byte[] STRAIGHT_TOP = new byte[RANK_MASK_SIZE]; // high rank of the best straight, or -1
+
+    static {
+        for (int ranks = 0; ranks < RANK_MASK_SIZE; ranks++) {
+            TOP_CARD[ranks] = (byte) (ranks == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(ranks));
+
+            int packed = 0;
+            int remaining = ranks;
+            for (int i = 0; i < 5; i++) {
+                packed <<= 4;
+                if (remaining != 0) {
+                    int top = 31 - Integer.numberOfLeadingZeros(remaining);
+                    packed |= top;
+                    remaining &= ~(1 << top);
+                }
+            }
+            TOP_FIVE[ranks] = packed;
+
+            STRAIGHT_TOP[ranks] = -1;
+            for (int high = Card.RANK_COUNT - 1; high >= 4; high--) {
+                int run = 0x1F << (high - 4);
+                if ((ranks & run) == run) {
+                    STRAIGHT_TOP[ranks] = (byte) high;
+                    break;
+                }
+            }
+            // Wheel: A-2-3-4-5 counts as a five-high straight
+            int wheel = (1 << 12) | 0xF;
+            if (STRAIGHT_TOP[ranks] < 0 && (ranks & wheel) == wheel) {
+                STRAIGHT_TOP[ranks] = 3;
+            }
+        }
+    }
+
     public static int compareHands(List<Card> hand1, List<Card> hand2) {
         // Validate the hands
         if (hand1 == null || hand2 == null || hand1.size() != 2 || hand2.size() != 2) {
@@ -25,4 +80,133 @@ public class HandEvaluator {
         }
         return (int) HandRange.getHandRangeValue(hand);
     }
+
+    // Evaluates the best five-card hand out of the hole cards and the board (5 to 7 cards in total)
+    public static int evaluateShowdown(List<Card> holeCards, List<Card> board) {
+        int cardCount = holeCards.size() + board.size();
+        if (cardCount < 5 || cardCount > 7) {
+            throw new IllegalArgumentException("Showdown needs between 5 and 7 cards, got " + cardCount + ".");
+        }
+        return evaluate(Card.maskOf(holeCards) | Card.maskOf(board));
+    }
+
+    /**
+     * Evaluates a 5, 6 or 7 card mask (see Card.getMask()) and returns a showdown value where a higher
+     * value is a stronger hand. The value is only a handful of table lookups and bit operations.
+     */
+    public static int evaluate(long cards) {
+        int clubs = (int) (cards & 0x1FFF);
+        int diamonds = (int) ((cards >>> 16) & 0x1FFF);
+        int hearts = (int) ((cards >>> 32) & 0x1FFF);
+        int spades = (int) ((cards >>> 48) & 0x1FFF);
+        int ranks = clubs | diamonds | hearts | spades;
+        int flushRanks = Integer.bitCount(ranks) >= 5 ? flushSuit(clubs, diamonds, hearts, spades) : 0;
+        return evaluate(cards, clubs, diamonds, hearts, spades, ranks, flushRanks);
+    }
+
+    /**
+     * evaluate() for callers scoring several hands against one board, who work out the board's share
+     * once: ranks is the rank set of cards and flushSuit the only suit (0 to 3) the board leaves room
+     * for a flush in, or -1 when no player can have one.
+     */
+    static int evaluate(long cards, int ranks, int flushSuit) {
+        int flushRanks = 0;
+        if (flushSuit >= 0) {
+            int suitRanks = (int) ((cards >>> (flushSuit * 16)) & 0x1FFF);
+            flushRanks = Integer.bitCount(suitRanks) >= 5 ? suitRanks : 0;
+        }
+        return evaluate(cards, (int) (cards & 0x1FFF), (int) ((cards >>> 16) & 0x1FFF),
+                (int) ((cards >>> 32) & 0x1FFF), (int) ((cards >>> 48) & 0x1FFF), ranks, flushRanks);
+    }
+
+    private static int evaluate(long cards, int clubs, int diamonds, int hearts, int spades, int ranks, int flushRanks) {
+        int distinctRanks = Integer.bitCount(ranks);
+        int duplicates = Long.bitCount(cards) - distinctRanks;
+
+        // With at most 7 cards a flush or straight rules out quads and full houses
+        if (distinctRanks >= 5) {
+            if (flushRanks != 0) {
+                int straightTop = STRAIGHT_TOP[flushRanks];
+                if (straightTop >= 0) {
+                    return value(STRAIGHT_FLUSH, straightTop << 16);
+                }
+                return value(FLUSH, TOP_FIVE[flushRanks]);
+            }
+            int straightTop = STRAIGHT_TOP[ranks];
+            if (straightTop >= 0 && duplicates < 3) {
+                return value(STRAIGHT, straightTop << 16);
+            }
+        }
+
+        switch (duplicates) {
+            case 0:
+                return value(HIGH_CARD, TOP_FIVE[ranks]);
+            case 1: {
+                int pair = ranks ^ (clubs ^ diamonds ^ hearts ^ spades);
+                int kickers = TOP_FIVE[ranks ^ pair] >>> 8; // top three kickers
+                return value(ONE_PAIR, (TOP_CARD[pair] << 16) | (kickers << 4));
+            }
+            case 2: {
+                int pairs = ranks ^ (clubs ^ diamonds ^ hearts ^ spades);
+                if (pairs != 0) {
+                    int kicker = TOP_CARD[ranks ^ pairs];
+                    return value(TWO_PAIR, (TOP_FIVE[pairs] & 0xFF000) | (kicker << 8));
+                }
+                int trips = threeOfAKindMask(clubs, diamonds, hearts, spades);
+                int kickers = TOP_FIVE[ranks ^ trips] >>> 12; // top two kickers
+                return value(THREE_OF_A_KIND, (TOP_CARD[trips] << 16) | (kickers << 8));
+            }
+            default: {
+                int quads = clubs & diamonds & hearts & spades;
+                if (quads != 0) {
+                    int top = TOP_CARD[quads];
+                    return value(FOUR_OF_A_KIND, (top << 16) | (TOP_CARD[ranks ^ (1 << top)] << 12));
+                }
+                int pairs = ranks ^ (clubs ^ diamonds ^ hearts ^ spades);
+                if (duplicates != Integer.bitCount(pairs)) {
+                    int trips = threeOfAKindMask(clubs, diamonds, hearts, spades);
+                    int top = TOP_CARD[trips];
+                    int second = TOP_CARD[(pairs | trips) ^ (1 << top)];
+                    return value(FULL_HOUSE, (top << 16) | (second << 12));
+                }
+                // Three pairs: best two pairs plus the best remaining card
+                int topTwo = TOP_FIVE[pairs] & 0xFF000;
+                int first = topTwo >>> 16;
+                int second = (topTwo >>> 12) & 0xF;
+                int kicker = TOP_CARD[ranks ^ (1 << first) ^ (1 << second)];
+                return value(TWO_PAIR, topTwo | (kicker << 8));
+            }
+        }
+    }
+
+    // Compares two showdown hands sharing a board; positive when the first hand wins
+    public static int compareShowdown(List<Card> hand1, List<Card> hand2, List<Card> board) {
+        return Integer.compare(evaluateShowdown(hand1, board), evaluateShowdown(hand2, board));
+    }
+
+    public static int getCategory(int showdownValue) {
+        return showdownValue >>> CATEGORY_SHIFT;
+    }
+
+    public static String describeShowdown(int showdownValue) {
+        return CATEGORY_NAMES[getCategory(showdownValue)];
+    }
+
+    private static int value(int category, int ranks) {
+        return (category << CATEGORY_SHIFT) | ranks;
+    }
+
+    // Returns the ranks of the suit holding five or more cards, or 0 when there is no flush
+    private static int flushSuit(int clubs, int diamonds, int hearts, int spades) {
+        if (Integer.bitCount(clubs) >= 5) return clubs;
+        if (Integer.bitCount(diamonds) >= 5) return diamonds;
+        if (Integer.bitCount(hearts) >= 5) return hearts;
+        if (Integer.bitCount(spades) >= 5) return spades;
+        return 0;
+    }
+
+    // Ranks held in at least three suits
+    private static int threeOfAKindMask(int clubs, int diamonds, int hearts, int spades) {
+        return ((clubs & diamonds) | (hearts & spades)) & ((clubs & hearts) | (diamonds & spades));
+    }
 }
@@ -0,0 +1,38 @@
+package poker.models;
+
+/**
+ * Receives the events of each hand a PokerGame plays, synchronously on the thread running the game.
+ * Implementations must be quick and must not call back into the game; every method has an empty
+ * default so observers only implement what they need.
+ */
+public interface HandObserver {
+
+    // Cards are dealt and the button and blinds are set; seats, stacks and hole cards can be read from the game
+    default void handStarted(PokerGame game) {
+    }
+
+    default void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+    }
+
+    // amount is the number of chips the player put in with this action
+    default void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+    }
+
+    // A new street was dealt; the game's community cards hold the full board so far
+    default void streetDealt(PokerGame game, Street street) {
+    }
+
+    // The game is paused until the human player in the seat acts
+    default void humanTurn(PokerGame game, int seat) {
+    }
+
+    // More than one player is left at the end of the hand; liveMask has a bit set for each of their seats
+    default void showdown(PokerGame game, int liveMask) {
+    }
+
+    default void potAwarded(PokerGame game, int seat, int amount) {
+    }
+
+    default void handEnded(PokerGame game) {
+    }
+}
@@ -0,0 +1,125 @@
+package poker.models;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opponent statistics for a population of players, shared by any number of tables. Stats are keyed by
+ * the Player object rather than its name, so same-named players at different tables ("AI Player 1" is
+ * at every table) are kept apart. Each table feeds the model through its own Tracker (see
+ * PokerGame.trackOpponents), which keeps that table's per-hand state; the shared counters are lock-free
+ * (see PlayerStats).
+ */
+public class OpponentModel {
+
+    private final Map<Player, PlayerStats> players = new ConcurrentHashMap<>();
+    private final PlayerStats population = new PlayerStats("Population");
+
+    public PlayerStats statsFor(Player player) {
+        return players.computeIfAbsent(player, p -> new PlayerStats(p.getName()));
+    }
+
+    // Every player's actions combined, e.g. as a prior for players with few hands
+    public PlayerStats getPopulation() {
+        return population;
+    }
+
+    public Map<Player, PlayerStats> getPlayers() {
+        return players;
+    }
+
+    // A tracker for one table; like the table itself it must only be used by one thread at a time
+    public Tracker newTracker() {
+        return new Tracker();
+    }
+
+    public class Tracker implements HandObserver {
+        private Player[] seatPlayers = new Player[0];
+        private PlayerStats[] seatStats = new PlayerStats[0];
+        private int[] roundBets = new int[0]; // chips each seat has put in on this street
+        private int roundBet;                  // the bet to match on this street
+        private int voluntaryMask;             // seats already counted for VPIP this hand
+        private int preflopRaiseMask;          // seats already counted for PFR this hand
+
+        // Stats of the player in the seat, looked up once per seat; null before the first hand
+        public PlayerStats getSeatStats(int seat) {
+            return seat < seatStats.length ? seatStats[seat] : null;
+        }
+
+        @Override
+        public void handStarted(PokerGame game) {
+            int seats = game.getSeatCount();
+            if (seatStats.length != seats) {
+                seatPlayers = new Player[seats];
+                seatStats = new PlayerStats[seats];
+                roundBets = new int[seats];
+            }
+            for (int seat = 0; seat < seats; seat++) {
+                Player player = game.getSeat(seat);
+                if (seatPlayers[seat] != player) {
+                    seatPlayers[seat] = player;
+                    seatStats[seat] = statsFor(player);
+                }
+                if ((game.getInHandMask() & (1 << seat)) != 0) {
+                    seatStats[seat].recordHand();
+                    population.recordHand();
+                }
+            }
+            voluntaryMask = 0;
+            preflopRaiseMask = 0;
+            startRound();
+        }
+
+        @Override
+        public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+            roundBets[game.getSmallBlindSeat()] = smallBlindPaid;
+            roundBets[game.getBigBlindSeat()] += bigBlindPaid;
+            roundBet = game.getBigBlind();
+        }
+
+        @Override
+        public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+            Street street = game.getStreet();
+            PlayerStats stats = seatStats[seat];
+            int toCall = roundBet - roundBets[seat];
+            // Preflop only a raise counts as a bet; calling the big blind is an open limp
+            boolean facingBet = street == Street.PREFLOP ? roundBet > game.getBigBlind() && toCall > 0 : toCall > 0;
+            if (facingBet) {
+                stats.recordFacedBet(street, action == ActionType.FOLD);
+                population.recordFacedBet(street, action == ActionType.FOLD);
+            }
+
+            if (street == Street.PREFLOP) {
+                int bit = 1 << seat;
+                if ((action == ActionType.CALL || action == ActionType.RAISE) && (voluntaryMask & bit) == 0) {
+                    voluntaryMask |= bit;
+                    stats.recordVoluntaryHand();
+                    population.recordVoluntaryHand();
+                }
+                if (action == ActionType.RAISE && (preflopRaiseMask & bit) == 0) {
+                    preflopRaiseMask |= bit;
+                    stats.recordPreflopRaiseHand();
+                    population.recordPreflopRaiseHand();
+                }
+            } else if (action == ActionType.CALL || action == ActionType.RAISE) {
+                stats.recordPostflopAction(action == ActionType.RAISE);
+                population.recordPostflopAction(action == ActionType.RAISE);
+            }
+
+            roundBets[seat] += amount;
+            roundBet = Math.max(roundBet, roundBets[seat]);
+        }
+
+        @Override
+        public void streetDealt(PokerGame game, Street street) {
+            startRound();
+        }
+
+        private void startRound() {
+            for (int seat = 0; seat < roundBets.length; seat++) {
+                roundBets[seat] = 0;
+            }
+            roundBet = 0;
+        }
+    }
+}
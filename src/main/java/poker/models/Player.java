@@ -1,19 +1,24 @@
 package poker.models;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Player {
     private String name;
     private int chips;
-    private List<Card> hand;
+    private final List<Card> hand;
+    private final List<Card> handView; // read-only; hand only changes through this class, so handMask stays in sync
+    private long handMask; // Bitmask of the hole cards, kept in sync with hand
     private boolean folded;
     private int currentBet;
+    private int totalBet; // Everything put into the pot this hand, used for side pots
 
     public Player(String name, int chips) {
         this.name = name;
         this.chips = chips;
-        this.hand = new ArrayList<>();
+        this.hand = new ArrayList<>(2);
+        this.handView = Collections.unmodifiableList(hand);
         this.folded = false;
         this.currentBet = 0;
     }
@@ -40,17 +45,24 @@ public class Player {
     }
 
     public List<Card> getHand() {
-        return hand;
+        return handView;
+    }
+
+    public long getHandMask() {
+        return handMask;
     }
 
     public void addCardToHand(Card card) {
         hand.add(card);
+        handMask |= card.getMask();
     }
 
     public void resetHand() {
         hand.clear();
+        handMask = 0L;
         folded = false;
         currentBet = 0;
+        totalBet = 0;
     }
 
     public boolean isFolded() {
@@ -71,8 +83,10 @@ public class Player {
 
     public void resetForNewHand() {
         hand.clear();
+        handMask = 0L;
         folded = false;
         currentBet = 0;
+        totalBet = 0;
     }
 
 
@@ -82,6 +96,11 @@ public class Player {
         }
         deductChips(amount);
         this.currentBet += amount;
+        this.totalBet += amount;
+    }
+
+    public int getTotalBet() {
+        return totalBet;
     }
 
     public void addToPot(int amount) {
@@ -89,11 +108,12 @@ public class Player {
     }
     // Getter for the player's hand
     public List<Card> getCards() {
-        return hand;
+        return handView;
     }
 
     public void clearCards() {
         this.hand.clear(); // Assuming `hand` is a list of `Card`
+        this.handMask = 0L;
     }
 
     public void setBalance(int balance) {
@@ -0,0 +1,100 @@
+package poker.models;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running statistics for one player (or a whole population), updated as hands are played. Counters are
+ * LongAdders, so tables on different threads can update the same player without locking and every
+ * read is a constant-time sum.
+ */
+public class PlayerStats {
+
+    private final String name;
+    private final LongAdder hands = new LongAdder();
+    private final LongAdder voluntaryHands = new LongAdder();  // called or raised preflop
+    private final LongAdder preflopRaiseHands = new LongAdder();
+    private final LongAdder postflopRaises = new LongAdder();
+    private final LongAdder postflopCalls = new LongAdder();
+    private final LongAdder[] facedBets = newAdders(Street.RIVER.ordinal() + 1);
+    private final LongAdder[] foldsToBets = newAdders(Street.RIVER.ordinal() + 1);
+
+    PlayerStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Hands the player was dealt into
+    public long getHands() {
+        return hands.sum();
+    }
+
+    // VPIP: share of hands in which the player put chips in preflop without being forced to
+    public double getVpip() {
+        return ratio(voluntaryHands.sum(), hands.sum());
+    }
+
+    // PFR: share of hands in which the player raised preflop
+    public double getPfr() {
+        return ratio(preflopRaiseHands.sum(), hands.sum());
+    }
+
+    // Postflop bets and raises per postflop call; the raise count itself when the player never called
+    public double getAggressionFactor() {
+        long calls = postflopCalls.sum();
+        long raises = postflopRaises.sum();
+        return calls == 0 ? raises : (double) raises / calls;
+    }
+
+    // Share of bets (preflop: raises) the player folded to on the given street
+    public double getFoldToBet(Street street) {
+        return ratio(foldsToBets[street.ordinal()].sum(), facedBets[street.ordinal()].sum());
+    }
+
+    public long getFacedBets(Street street) {
+        return facedBets[street.ordinal()].sum();
+    }
+
+    void recordHand() {
+        hands.increment();
+    }
+
+    void recordVoluntaryHand() {
+        voluntaryHands.increment();
+    }
+
+    void recordPreflopRaiseHand() {
+        preflopRaiseHands.increment();
+    }
+
+    void recordPostflopAction(boolean raise) {
+        (raise ? postflopRaises : postflopCalls).increment();
+    }
+
+    void recordFacedBet(Street street, boolean folded) {
+        facedBets[street.ordinal()].increment();
+        if (folded) {
+            foldsToBets[street.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d hands, VPIP %.1f%%, PFR %.1f%%, AF %.2f, fold to flop bet %.1f%%",
+                name, getHands(), getVpip() * 100, getPfr() * 100, getAggressionFactor(), getFoldToBet(Street.FLOP) * 100);
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0.0 : (double) count / total;
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -1,64 +1,68 @@
 package poker.models;
 
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * AI player whose personality is compiled into a shared PokerAIPolicy table, so a decision is one bluff
+ * draw plus one table lookup. Bluffs are drawn from the calling thread's ThreadLocalRandom unless a
+ * generator is set with setRandom(), e.g. a seeded one for a reproducible simulation.
+ */
 public class PokerAI extends Player {
-    private int aggression;
-    private int tightness;
     private int bluffFrequency;
     private int riskTolerance;
+    private final PokerAIPolicy policy;
+    private RandomGenerator random; // null draws from ThreadLocalRandom
+    private OpponentModel.Tracker opponents;
+    private static final String LOG_SOURCE = "PokerAI";
 
     public PokerAI(String name, int chips, int aggression, int tightness, int bluffFrequency, int riskTolerance) {
         super(name, chips);
-        this.aggression = aggression;
-        this.tightness = tightness;
         this.bluffFrequency = bluffFrequency;
         this.riskTolerance = riskTolerance;
+        this.policy = PokerAIPolicy.forPersonality(aggression, tightness);
+    }
+
+    // Only one thread may use the AI at a time when a generator is set
+    public void setRandom(RandomGenerator random) {
+        this.random = random;
+    }
+
+    // Set by PokerGame.trackOpponents; gives the AI the running stats of everyone at its table
+    public void setOpponentTracker(OpponentModel.Tracker opponents) {
+        this.opponents = opponents;
     }
-    public String decideAction(int currentBet, int pot, int position, List<Card> communityCards) {
-        System.out.println(getName() + " is evaluating the action...");
-        int handStrength = HandEvaluator.evaluateHand(getHand());
-        System.out.println("Hand strength: " + handStrength);
-        int decisionThreshold = calculateDecisionThreshold(position);
-        System.out.println("Decision threshold: " + decisionThreshold);
 
-        decisionThreshold -= aggression;
-        decisionThreshold += tightness;
+    // Stats of the player in the seat, or null when the table is not tracked
+    public PlayerStats getOpponentStats(int seat) {
+        return opponents != null ? opponents.getSeatStats(seat) : null;
+    }
 
-        if (Math.random() * 100 < bluffFrequency) {
-            System.out.println(getName() + " decides to bluff.");
+    public String decideAction(int currentBet, int pot, int position, List<Card> communityCards) {
+        RandomGenerator rng = random != null ? random : ThreadLocalRandom.current();
+        if (rng.nextInt(100) < bluffFrequency) {
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "{} decides to bluff.", getName());
             return "raise";
         }
 
-        if (handStrength <= decisionThreshold) {
-            if (currentBet == 0) {
-                System.out.println(getName() + " decides to bet.");
-                return "raise";
-            } else if (currentBet <= getChips() / riskTolerance) {
-                System.out.println(getName() + " decides to call.");
-                return "call";
-            } else {
-                System.out.println(getName() + " decides to fold.");
-                return "fold";
-            }
-        } else {
-            System.out.println(getName() + " decides to fold due to weak hand.");
-            return "fold";
+        List<Card> hand = getHand();
+        int handStrength = HandRange.getHandRank(hand.get(0), hand.get(1));
+        int betBucket = currentBet == 0 ? PokerAIPolicy.NO_BET
+                : currentBet <= getChips() / riskTolerance ? PokerAIPolicy.AFFORDABLE_BET : PokerAIPolicy.EXPENSIVE_BET;
+        String action = policy.decide(PokerAIPolicy.streetOf(communityCards.size()), position, handStrength, betBucket);
+
+        if (GameLog.isEnabled(LogLevel.DEBUG)) {
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "{} decides to {} with hand strength {}.", getName(), action, handStrength);
         }
+        return action;
     }
 
 
     public int decideRaiseAmount(int pot) {
         return Math.min(50, pot / 4); // Raise by a quarter of the pot or $50, whichever is smaller
     }
-
-    private int calculateDecisionThreshold(int position) {
-        // Early position: higher threshold (play tighter)
-        // Late position: lower threshold (play looser)
-        switch (position) {
-            case 0: return 20; // Early position
-            case 1: return 15; // Middle position
-            default: return 10; // Late position
-        }
-    }
 }
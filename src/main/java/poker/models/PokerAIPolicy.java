@@ -0,0 +1,65 @@
+package poker.models;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A PokerAI personality compiled into a lookup table: for every street, position, preflop hand class
+ * and bet-to-stack bucket it holds the fold, call or raise the AI makes when it is not bluffing. Only
+ * tightness minus aggression shapes the table, so every AI with the same difference shares one instance.
+ */
+final class PokerAIPolicy {
+
+    static final int STREETS = 4;
+    static final int POSITIONS = 3; // early, middle, late
+    static final int HAND_CLASSES = HandRange.HAND_COUNT + 1; // indexed by hand rank, 1 is the best hand
+    static final int BET_BUCKETS = 3;
+
+    static final int NO_BET = 0;
+    static final int AFFORDABLE_BET = 1; // at most the stack divided by the AI's risk tolerance
+    static final int EXPENSIVE_BET = 2;
+
+    private static final byte FOLD = 0;
+    private static final byte CALL = 1;
+    private static final byte RAISE = 2;
+    private static final String[] ACTIONS = {"fold", "call", "raise"};
+
+    // Early position: higher threshold (play tighter); late position: lower threshold (play looser)
+    private static final int[] POSITION_THRESHOLDS = {20, 15, 10};
+
+    private static final Map<Integer, PokerAIPolicy> SHARED = new ConcurrentHashMap<>();
+
+    private final byte[] actions = new byte[STREETS * POSITIONS * HAND_CLASSES * BET_BUCKETS];
+
+    private PokerAIPolicy(int thresholdOffset) {
+        for (int street = 0; street < STREETS; street++) {
+            for (int position = 0; position < POSITIONS; position++) {
+                int threshold = POSITION_THRESHOLDS[position] + thresholdOffset;
+                for (int handRank = 0; handRank < HAND_CLASSES; handRank++) {
+                    boolean playable = handRank <= threshold;
+                    actions[index(street, position, handRank, NO_BET)] = playable ? RAISE : FOLD;
+                    actions[index(street, position, handRank, AFFORDABLE_BET)] = playable ? CALL : FOLD;
+                    actions[index(street, position, handRank, EXPENSIVE_BET)] = FOLD;
+                }
+            }
+        }
+    }
+
+    static PokerAIPolicy forPersonality(int aggression, int tightness) {
+        return SHARED.computeIfAbsent(tightness - aggression, PokerAIPolicy::new);
+    }
+
+    // position is seats after the dealer; 0 is early, 1 middle and anything else late
+    String decide(int street, int position, int handRank, int betBucket) {
+        int positionClass = position == 0 || position == 1 ? position : 2;
+        return ACTIONS[actions[index(street, positionClass, handRank, betBucket)]];
+    }
+
+    static int streetOf(int communityCards) {
+        return communityCards == 0 ? 0 : Math.min(communityCards - 2, STREETS - 1);
+    }
+
+    private static int index(int street, int position, int handRank, int betBucket) {
+        return ((street * POSITIONS + position) * HAND_CLASSES + handRank) * BET_BUCKETS + betBucket;
+    }
+}
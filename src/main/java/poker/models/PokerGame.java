@@ -1,27 +1,76 @@
 package poker.models;
 
-import javafx.scene.control.TextInputDialog;
+import poker.log.GameLog;
+import poker.log.LogLevel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-
-
-import java.util.Optional;
-
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs hands as an explicit state machine: the current street, the seat of the player to act and the
+ * number of players who still have to act before the betting round closes. step() makes exactly one
+ * transition and advance() loops over step() until the hand ends or the human player has to act, so
+ * turn order never recurses no matter how many AI seats are at the table.
+ *
+ * Players sit in a fixed seat array (heads-up to 10-max). Dealer, blinds and the current actor are
+ * seat indexes, and who is in the hand, folded or all-in is kept as bitmasks over the seats, so turn
+ * rotation and round checks are bit operations with no allocation.
+ */
 public class PokerGame {
+    public static final int MAX_SEATS = 10;
+    // Raises allowed per betting round before further raises are treated as calls
+    private static final int MAX_RAISES_PER_ROUND = 4;
+    private static final String LOG_SOURCE = "PokerGame";
+
     private List<Card> communityCards;
+    private long boardMask; // Bitmask of the community cards, kept in sync with communityCards
     private Player humanPlayer;
     private List<PokerAI> aiPlayers;
+    private final Player[] seats;
+    private final int humanSeat; // -1 for a headless table
+    private final int[] showdownValues; // per-seat scratch space for the showdown
     private Deck deck;
     private int pot;
     private int smallBlind;
     private int bigBlind;
-    private Player dealer;
     private int currentBet;
-    private Player currentPlayer;
     private PokerGameListener listener; // Listener for UI interactions
+    private HandObserver[] observers = new HandObserver[0];
+    private GameEventDispatcher eventDispatcher; // created with the first listener added, then kept for its counts
+    private long handNumber;
+
+    // Every hand is dealt from its own seed, drawn from this generator, so any single hand can be dealt again
+    private RandomGenerator seeds = new SplittableRandom();
+    private long handSeed;
+    private long nextHandSeed;
+    private boolean nextHandSeedSet;
+
+    // Seat indexes
+    private int dealerSeat;
+    private int smallBlindSeat;
+    private int bigBlindSeat;
+    private int currentSeat;
+
+    // Seat bitmasks (bit i is seat i)
+    private int inHandMask; // dealt into the current hand
+    private int foldedMask;
+    private int allInMask;
+
+    // Betting state machine
+    private Street street = Street.SHOWDOWN;
+    private boolean handOver = true;
+    private int pendingActors; // players who still have to act before the round closes
+    private int raisesThisRound;
+    private boolean awaitingHuman; // paused until the human player submits an action
 
     public PokerGame(Player humanPlayer, List<PokerAI> aiPlayers, int smallBlind, int bigBlind) {
+        int seatCount = aiPlayers.size() + (humanPlayer != null ? 1 : 0);
+        if (seatCount < 2 || seatCount > MAX_SEATS) {
+            throw new IllegalArgumentException("A table seats between 2 and " + MAX_SEATS + " players, got " + seatCount + ".");
+        }
         this.humanPlayer = humanPlayer;
         this.aiPlayers = aiPlayers;
         this.smallBlind = smallBlind;
@@ -29,9 +78,26 @@ public class PokerGame {
         this.deck = new Deck();
         this.pot = 0;
         this.currentBet = 0;
-        this.communityCards = new ArrayList<>();
-        this.dealer = aiPlayers.get(aiPlayers.size() - 1); // Initial dealer
-        this.currentPlayer = humanPlayer; // Start with the human player
+        this.communityCards = new ArrayList<>(5);
+
+        // The human player, if any, takes seat 0 and the AIs follow in order
+        this.seats = new Player[seatCount];
+        int seat = 0;
+        if (humanPlayer != null) {
+            seats[seat++] = humanPlayer;
+        }
+        for (PokerAI aiPlayer : aiPlayers) {
+            seats[seat++] = aiPlayer;
+        }
+        this.humanSeat = humanPlayer != null ? 0 : -1;
+        this.showdownValues = new int[seatCount];
+        this.dealerSeat = seatCount - 1; // Initial dealer
+        this.currentSeat = 0; // Start with the human player
+    }
+
+    // Headless table: every seat is an AI and nobody waits for UI input
+    public PokerGame(List<PokerAI> aiPlayers, int smallBlind, int bigBlind) {
+        this(null, aiPlayers, smallBlind, bigBlind);
     }
 
     public Player getHumanPlayer() {
@@ -39,19 +105,68 @@ public class PokerGame {
     }
 
     public Player getCurrentPlayer() {
-        return currentPlayer;
+        return seats[currentSeat];
     }
 
     public boolean isDealer(Player player) {
-        return dealer.equals(player);
+        return seats[dealerSeat] == player;
+    }
+
+    public int getSeatCount() {
+        return seats.length;
+    }
+
+    public Player getSeat(int seat) {
+        return seats[seat];
+    }
+
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+
+    public int getDealerSeat() {
+        return dealerSeat;
+    }
+
+    public int getSmallBlindSeat() {
+        return smallBlindSeat;
+    }
+
+    public int getBigBlindSeat() {
+        return bigBlindSeat;
+    }
+
+    public int getFoldedMask() {
+        return foldedMask;
+    }
+
+    public int getAllInMask() {
+        return allInMask;
+    }
+
+    public int getInHandMask() {
+        return inHandMask;
     }
 
     public int getPot() {
         return pot;
     }
 
+    public Street getStreet() {
+        return street;
+    }
+
+    public boolean isHandOver() {
+        return handOver;
+    }
+
+    // True while the game is paused waiting for the human player's fold, call or raise
+    public boolean isAwaitingHuman() {
+        return awaitingHuman;
+    }
+
     public void nextPlayerTurn() {
-        moveToNextPlayer();
+        advance();
     }
 
 
@@ -60,268 +175,590 @@ public class PokerGame {
         this.listener = listener;
     }
 
+    // Adds a listener for the batched event stream, delivered on a thread of its own; add it between hands
+    public void addListener(PokerGameListener listener) {
+        if (eventDispatcher == null) {
+            eventDispatcher = new GameEventDispatcher();
+        }
+        if (eventDispatcher.isEmpty()) {
+            addObserver(eventDispatcher);
+        }
+        eventDispatcher.addListener(listener);
+    }
+
+    // Stops delivering to the listener once the events already queued for it are delivered
+    public void removeListener(PokerGameListener listener) {
+        if (eventDispatcher != null && eventDispatcher.removeListener(listener) && eventDispatcher.isEmpty()) {
+            removeObserver(eventDispatcher);
+        }
+    }
+
+    // Events not delivered because a listener had fallen too far behind
+    public long getDroppedEventCount() {
+        return eventDispatcher == null ? 0 : eventDispatcher.getDroppedCount();
+    }
+
+    // Observers are called synchronously for every hand event; add them between hands
+    public void addObserver(HandObserver observer) {
+        HandObserver[] updated = Arrays.copyOf(observers, observers.length + 1);
+        updated[observers.length] = observer;
+        observers = updated;
+    }
+
+    public void removeObserver(HandObserver observer) {
+        observers = Arrays.stream(observers).filter(o -> o != observer).toArray(HandObserver[]::new);
+    }
+
+    // Feeds this table's actions into the shared model and lets every AI here read its opponents' stats
+    public OpponentModel.Tracker trackOpponents(OpponentModel model) {
+        OpponentModel.Tracker tracker = model.newTracker();
+        addObserver(tracker);
+        for (PokerAI aiPlayer : aiPlayers) {
+            aiPlayer.setOpponentTracker(tracker);
+        }
+        return tracker;
+    }
+
+    // Number of hands started at this table, starting with 1
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    // Makes the hand seeds, and so every deal at this table, a function of seed
+    public void setSeed(long seed) {
+        setRandom(new SplittableRandom(seed));
+    }
+
+    // Generator every hand's deck seed is drawn from; the deck deals each hand from a generator seeded with it
+    public void setRandom(RandomGenerator random) {
+        this.seeds = random;
+    }
+
+    // Seed the current hand was dealt from
+    public long getHandSeed() {
+        return handSeed;
+    }
+
+    // Deals the next hand from exactly this seed, e.g. to replay a recorded hand
+    public void setNextHandSeed(long seed) {
+        this.nextHandSeed = seed;
+        this.nextHandSeedSet = true;
+    }
+
+    // The next hand moves the button on from this seat
+    public void setDealerSeat(int seat) {
+        if (seat < 0 || seat >= seats.length) {
+            throw new IllegalArgumentException("No seat " + seat + " at a table of " + seats.length + ".");
+        }
+        this.dealerSeat = seat;
+    }
+
+    public int getSmallBlind() {
+        return smallBlind;
+    }
+
+    public int getBigBlind() {
+        return bigBlind;
+    }
+
     public void revealFlop() {
-        communityCards.add(deck.deal());
-        communityCards.add(deck.deal());
-        communityCards.add(deck.deal());
+        addCommunityCard(deck.deal());
+        addCommunityCard(deck.deal());
+        addCommunityCard(deck.deal());
     }
 
     public void revealTurn() {
-        communityCards.add(deck.deal());
+        addCommunityCard(deck.deal());
     }
 
     public void revealRiver() {
-        communityCards.add(deck.deal());
+        addCommunityCard(deck.deal());
+    }
+
+    private void addCommunityCard(Card card) {
+        communityCards.add(card);
+        boardMask |= card.getMask();
     }
 
     public void endHand() {
-        determineWinner();
-        resetPlayers();
+        if (!handOver) {
+            finishHand();
+        }
         startNewHand();
     }
 
     private void resetPlayers() {
-        for (Player player : getAllPlayers()) {
+        for (Player player : seats) {
             player.resetForNewHand();
         }
         communityCards.clear();
+        boardMask = 0L;
+        foldedMask = 0;
+        allInMask = 0;
     }
 
     public List<Card> getCommunityCards() {
         return communityCards;
     }
 
+    public long getBoardMask() {
+        return boardMask;
+    }
+
     public void setCurrentPlayer(Player player) {
-        System.out.println("Setting current player to: " + player.getName());
-        this.currentPlayer = player;
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Setting current player to: {}", player.getName());
+        this.currentSeat = seatOf(player);
     }
 
     public void startNewHand() {
-        // Reset deck and pot
+        // Clear the previous hand, reset deck and pot
+        resetPlayers();
+        handSeed = nextHandSeedSet ? nextHandSeed : seeds.nextLong();
+        nextHandSeedSet = false;
+        deck.setSeed(handSeed);
         deck.shuffle();
         pot = 0;
         currentBet = 0;
 
+        // Anyone without chips sits the hand out
+        inHandMask = 0;
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seats[seat].getChips() > 0) {
+                inHandMask |= 1 << seat;
+            } else {
+                seats[seat].fold();
+                foldedMask |= 1 << seat;
+            }
+        }
+        if (Integer.bitCount(inHandMask) < 2) {
+            throw new IllegalStateException("At least 2 players need chips to start a hand.");
+        }
+
         // Move dealer position to the next player
         moveDealer();
 
+        // Heads-up the dealer posts the small blind and acts first before the flop
+        if (Integer.bitCount(inHandMask) == 2) {
+            smallBlindSeat = dealerSeat;
+        } else {
+            smallBlindSeat = nextSeat(dealerSeat, inHandMask);
+        }
+        bigBlindSeat = nextSeat(smallBlindSeat, inHandMask);
+
         // Deal cards to all players
         dealCards();
 
         // Set the current player to the one after BB
         setCurrentPlayerAfterBB();
-    }
-
-    public void setCurrentPlayerAfterBB() {
-        List<Player> allPlayers = getAllPlayers();
 
-        // Big Blind player acts last in the first betting round
-        Player bigBlindPlayer = getNextPlayer(getNextPlayer(dealer));
+        street = Street.PREFLOP;
+        handOver = false;
+        awaitingHuman = false;
+        pendingActors = 0;
+        handNumber++;
 
-        // First player to act after Big Blind
-        Player firstToAct = getNextPlayer(bigBlindPlayer);
-
-        // Ensure the current player is set to the human player if it's their turn
-        setCurrentPlayer(firstToAct);
-    }
-
-    private int getPlayerPosition(Player player) {
-        List<Player> allPlayers = getAllPlayers();
-        int dealerIndex = allPlayers.indexOf(dealer);
-        int playerIndex = allPlayers.indexOf(player);
-
-        if (playerIndex == -1) {
-            throw new IllegalArgumentException("Player not found in the game.");
+        for (HandObserver observer : observers) {
+            observer.handStarted(this);
         }
+    }
 
-        // Calculate the relative position of the player with respect to the dealer
-        if (playerIndex >= dealerIndex) {
-            return playerIndex - dealerIndex;
-        } else {
-            return allPlayers.size() - dealerIndex + playerIndex;
-        }
+    public void setCurrentPlayerAfterBB() {
+        // Big Blind player acts last in the first betting round, so the next player in the hand starts
+        currentSeat = nextSeat(bigBlindSeat, inHandMask);
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Setting current player to: {}", seats[currentSeat].getName());
     }
 
-    private void aiPlayerTakeAction(PokerAI aiPlayer) {
-        System.out.println("AI " + aiPlayer.getName() + " is deciding...");
-        String action = aiPlayer.decideAction(currentBet, pot, getPlayerPosition(aiPlayer), communityCards);
+    // Seats after the dealer: 0 is the dealer, 1 the first seat to the left and so on
+    private int getPlayerPosition(int seat) {
+        return (seat - dealerSeat + seats.length) % seats.length;
+    }
 
-        switch (action) {
-            case "fold":
-                handleFold(aiPlayer);
-                break;
-            case "call":
-                handleCall(aiPlayer);
-                break;
-            case "raise":
-                int raiseAmount = aiPlayer.decideRaiseAmount(pot);
-                handleRaise(aiPlayer, raiseAmount);
-                break;
+    /**
+     * Plays one complete hand without any UI: deal, blinds, all four betting rounds, showdown and chip
+     * transfer. Every seat must be a PokerAI.
+     */
+    public void playHand() {
+        if (humanPlayer != null) {
+            throw new IllegalStateException("playHand() needs a table without a human player.");
         }
-
-        moveToNextPlayer();
+        startNewHand();
+        collectBlinds();
     }
-    public void playBettingRound() {
-        System.out.println("Starting betting round...");
 
-        while (!isRoundOver()) {
-            if (currentPlayer.equals(humanPlayer)) {
-                System.out.println("Human player's turn. Pausing for input...");
-                if (listener != null) {
-                    listener.onHumanTurn(); // Notify UI to wait for input
-                }
-                return; // Pause execution here for human input
-            }
+    // Posts the blinds and runs the hand until it ends or the human player has to act
+    public void collectBlinds() {
+        postBlinds();
+        beginBettingRound(currentSeat);
+        advance();
+    }
 
-            if (currentPlayer instanceof PokerAI) {
-                System.out.println("AI's turn: " + currentPlayer.getName());
-                aiPlayerTakeAction((PokerAI) currentPlayer); // Let AI take action
-            }
+    // Runs state transitions until the hand is over or the human player has to act
+    public void advance() {
+        while (step()) {
+            // each step makes one transition
         }
-
-        System.out.println("Betting round ended.");
     }
 
-
-
-
-    private void notifyHumanTurn() {
-        if (listener != null) {
-            listener.onHumanTurn();
+    /**
+     * Makes a single transition: one AI action, a skipped seat, dealing the next street or the
+     * showdown. Returns false when nothing more can happen without human input or a new hand.
+     */
+    public boolean step() {
+        if (handOver || awaitingHuman) {
+            return false;
         }
-    }
-    public void moveToNextPlayer() {
-        if (isRoundOver()) {
-            System.out.println("Round is over. Determining winner...");
-            determineWinner();
-            return; // Stop further execution
+        if (Integer.bitCount(inHandMask & ~foldedMask) <= 1) {
+            finishHand();
+            return true;
         }
-
-        currentPlayer = getNextPlayer(currentPlayer); // Advance to the next player
-        System.out.println("Next player is: " + currentPlayer.getName());
-
-        if (currentPlayer.isFolded()) {
-            System.out.println(currentPlayer.getName() + " is folded. Skipping...");
-            moveToNextPlayer(); // Skip folded players
-            return;
+        if (pendingActors == 0) {
+            nextStreet();
+            return true;
         }
 
-        if (currentPlayer.equals(humanPlayer)) {
-            System.out.println("Waiting for human player's action...");
+        int seat = currentSeat;
+        Player player = seats[seat];
+
+        if (seat == humanSeat) {
+            GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Waiting for human player's action...");
+            awaitingHuman = true;
+            for (HandObserver observer : observers) {
+                observer.humanTurn(this, seat);
+            }
             if (listener != null) {
                 listener.onHumanTurn(); // Notify UI to enable controls
             }
-            return; // Halt further execution until human action
+            return false;
         }
 
-        if (currentPlayer instanceof PokerAI) {
-            aiPlayerTakeAction((PokerAI) currentPlayer); // Let AI act
+        PokerAI aiPlayer = (PokerAI) player;
+        String action = aiPlayer.decideAction(currentBet, pot, getPlayerPosition(seat), communityCards);
+        if (action.equals("fold") && currentBet == player.getCurrentBet()) {
+            action = "call"; // folding with nothing to call is a check
         }
+        act(seat, action, action.equals("raise") ? aiPlayer.decideRaiseAmount(pot) : 0);
+        return true;
     }
 
-
     public Player getDealer() {
-        return dealer; // Replace with your actual dealer logic
+        return seats[dealerSeat];
     }
 
     private void moveDealer() {
-        int dealerIndex = getAllPlayers().indexOf(dealer);
-        dealer = getAllPlayers().get((dealerIndex + 1) % getAllPlayers().size());
+        // The button skips seats that are sitting out
+        dealerSeat = nextSeat(dealerSeat, inHandMask);
     }
 
     public void dealCards() {
-        for (Player player : getAllPlayers()) {
+        for (int seat = 0; seat < seats.length; seat++) {
+            Player player = seats[seat];
             player.clearCards(); // Ensure no leftover cards
+            if ((inHandMask & (1 << seat)) == 0) {
+                continue; // Sitting out
+            }
             player.addCardToHand(deck.dealCard()); // Deal first card
             player.addCardToHand(deck.dealCard()); // Deal second card
         }
     }
 
-    public void collectBlinds() {
-        System.out.println("Collecting blinds...");
+    private void postBlinds() {
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Collecting blinds...");
 
-        Player smallBlindPlayer = getNextPlayer(dealer);
-        Player bigBlindPlayer = getNextPlayer(smallBlindPlayer);
+        Player smallBlindPlayer = seats[smallBlindSeat];
+        Player bigBlindPlayer = seats[bigBlindSeat];
 
-        smallBlindPlayer.placeBet(smallBlind);
-        bigBlindPlayer.placeBet(bigBlind);
+        // A short stack posts what it has and is all-in
+        int smallBlindPaid = Math.min(smallBlind, smallBlindPlayer.getChips());
+        int bigBlindPaid = Math.min(bigBlind, bigBlindPlayer.getChips());
+        smallBlindPlayer.placeBet(smallBlindPaid);
+        bigBlindPlayer.placeBet(bigBlindPaid);
 
-        pot += smallBlind + bigBlind;
+        pot += smallBlindPaid + bigBlindPaid;
         currentBet = bigBlind;
+        markAllIn(smallBlindSeat);
+        markAllIn(bigBlindSeat);
 
         // Log actions for small blind and big blind payments
-        logAction(smallBlindPlayer.getName() + " posts the small blind of $" + smallBlind + ".");
-        logAction(bigBlindPlayer.getName() + " posts the big blind of $" + bigBlind + ".");
-        playBettingRound();
+        if (GameLog.isEnabled(LogLevel.INFO)) {
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} posts the small blind of ${}.", smallBlindPlayer.getName(), smallBlindPaid);
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} posts the big blind of ${}.", bigBlindPlayer.getName(), bigBlindPaid);
+        }
+        for (HandObserver observer : observers) {
+            observer.blindsPosted(this, smallBlindPaid, bigBlindPaid);
+        }
     }
 
+    // Human actions: applied for the player whose turn it is, then the game runs on to the next pause
     public void handleFold(Player player) {
-        player.fold();
-        logAction(player.getName() + " folds.");
-        moveToNextPlayer();
+        submitHumanAction(player, "fold", 0);
     }
 
     public void handleCall(Player player) {
-        int callAmount = currentBet - player.getCurrentBet();
+        submitHumanAction(player, "call", 0);
+    }
+
+    public void handleRaise(Player player, int raiseAmount) {
+        submitHumanAction(player, "raise", raiseAmount);
+    }
+
+    private void submitHumanAction(Player player, String action, int raiseAmount) {
+        if (handOver || currentSeat != humanSeat || player != humanPlayer || !awaitingHuman) {
+            throw new IllegalStateException("It is not " + player.getName() + "'s turn.");
+        }
+        awaitingHuman = false;
+        act(currentSeat, action, raiseAmount);
+        advance();
+    }
+
+    // Applies an action for the player in the given seat and passes the turn to the next seat that can act
+    private void act(int seat, String action, int raiseAmount) {
+        Player player = seats[seat];
+        int toCall = currentBet - player.getCurrentBet();
+        ActionType type;
+        int amount = 0;
+
+        if (action.equals("raise") && raisesThisRound < MAX_RAISES_PER_ROUND && player.getChips() > toCall) {
+            amount = applyRaise(player, raiseAmount);
+            type = ActionType.RAISE;
+            markAllIn(seat);
+            raisesThisRound++;
+            pendingActors = Integer.bitCount(actingMask() & ~(1 << seat)); // everyone else acts again
+        } else {
+            if (action.equals("fold")) {
+                applyFold(player);
+                type = ActionType.FOLD;
+                foldedMask |= 1 << seat;
+            } else {
+                amount = applyCall(player); // calling nothing is a check
+                type = amount == 0 ? ActionType.CHECK : ActionType.CALL;
+                markAllIn(seat);
+            }
+            pendingActors--;
+        }
+        for (HandObserver observer : observers) {
+            observer.actionTaken(this, seat, type, amount);
+        }
+
+        int acting = actingMask();
+        if (acting != 0) {
+            currentSeat = nextSeat(seat, acting);
+        }
+    }
+
+    private void markAllIn(int seat) {
+        if (seats[seat].getChips() == 0) {
+            allInMask |= 1 << seat;
+        }
+    }
+
+    // Seats that are in the hand, not folded and not all-in
+    private int actingMask() {
+        return inHandMask & ~foldedMask & ~allInMask;
+    }
+
+    private void applyFold(Player player) {
+        player.fold();
+        GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} folds.", player.getName());
+    }
+
+    private int applyCall(Player player) {
+        // Calling more than the stack puts the player all-in for what is left
+        int callAmount = Math.min(currentBet - player.getCurrentBet(), player.getChips());
         player.placeBet(callAmount);
         pot += callAmount;
 
-        logAction(player.getName() + " calls $" + callAmount + ".");
-        moveToNextPlayer();
+        if (GameLog.isEnabled(LogLevel.INFO)) {
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} calls ${}.", player.getName(), callAmount);
+        }
+        return callAmount;
     }
 
-    public void handleRaise(Player player, int raiseAmount) {
+    private int applyRaise(Player player, int raiseAmount) {
         int totalBet = currentBet + raiseAmount;
-        int callAmount = totalBet - player.getCurrentBet();
+        int callAmount = Math.min(totalBet - player.getCurrentBet(), player.getChips());
 
         player.placeBet(callAmount);
         pot += callAmount;
-        currentBet = totalBet;
+        currentBet = Math.max(currentBet, player.getCurrentBet());
 
-        logAction(player.getName() + " raises by $" + raiseAmount + " (total bet: $" + totalBet + ").");
-        moveToNextPlayer();
+        if (GameLog.isEnabled(LogLevel.INFO)) {
+            GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} raises by ${} (total bet: ${}).", player.getName(), raiseAmount, currentBet);
+        }
+        return callAmount;
     }
 
-    private void determineWinner() {
-        List<Player> activePlayers = getAllPlayers().stream()
-                .filter(player -> !player.isFolded())
-                .toList();
+    private void beginBettingRound(int firstSeat) {
+        raisesThisRound = 0;
+        int acting = actingMask();
+        pendingActors = Integer.bitCount(acting);
+        if (acting != 0) {
+            currentSeat = seatAtOrAfter(firstSeat, acting);
+        }
+        // Nobody is left to bet against when at most one player still has chips, except a preflop call
+        if (street != Street.PREFLOP && pendingActors < 2) {
+            pendingActors = 0;
+        }
+    }
+
+    private void nextStreet() {
+        if (street == Street.RIVER) {
+            finishHand();
+            return;
+        }
+        dealNextStreet();
 
-        Player winner = activePlayers.stream()
-                .max((p1, p2) -> HandEvaluator.compareHands(p1.getHand(), p2.getHand()))
-                .orElse(null);
+        currentBet = 0;
+        for (Player player : seats) {
+            player.setCurrentBet(0);
+        }
+        // After the flop the first player left of the dealer acts first
+        beginBettingRound(nextSeat(dealerSeat, inHandMask));
+    }
+
+    private void dealNextStreet() {
+        switch (street) {
+            case PREFLOP:
+                revealFlop();
+                break;
+            case FLOP:
+                revealTurn();
+                break;
+            default:
+                revealRiver();
+                break;
+        }
+        street = street.next();
+        GameLog.log(LogLevel.DEBUG, LOG_SOURCE, "Dealing the {}.", street);
+        for (HandObserver observer : observers) {
+            observer.streetDealt(this, street);
+        }
+    }
 
-        if (winner != null) {
-            logAction(winner.getName() + " wins the pot of $" + pot + "!");
-            winner.addChips(pot);
-            pot = 0; // Reset pot
+    private void finishHand() {
+        // Run out the rest of the board when the hand went all-in before the river
+        if (Integer.bitCount(inHandMask & ~foldedMask) > 1) {
+            while (street != Street.RIVER) {
+                dealNextStreet();
+            }
+        }
+        determineWinner();
+        street = Street.SHOWDOWN;
+        handOver = true;
+        awaitingHuman = false;
+        for (HandObserver observer : observers) {
+            observer.handEnded(this);
         }
     }
 
-    private boolean isRoundOver() {
-        boolean roundOver = getAllPlayers().stream()
-                .allMatch(player -> player.isFolded() || player.getCurrentBet() == currentBet);
+    // First seat at or after the given seat whose bit is set in mask (mask must not be empty)
+    private int seatAtOrAfter(int seat, int mask) {
+        int atOrAfter = mask & (-1 << seat);
+        return Integer.numberOfTrailingZeros(atOrAfter != 0 ? atOrAfter : mask);
+    }
+
+    private int nextSeat(int seat, int mask) {
+        return seatAtOrAfter((seat + 1) % seats.length, mask);
+    }
 
-        System.out.println("Is round over? " + roundOver);
-        return roundOver;
+    private int seatOf(Player player) {
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seats[seat] == player) {
+                return seat;
+            }
+        }
+        throw new IllegalArgumentException("Player not found in the game.");
     }
 
-    private Player getNextPlayer(Player current) {
-        List<Player> allPlayers = getAllPlayers();
-        int currentIndex = allPlayers.indexOf(current);
+    // Pays out the main pot and any side pots, splitting ties evenly
+    private void determineWinner() {
+        if (pot == 0) {
+            return;
+        }
+        int live = inHandMask & ~foldedMask;
+        for (int seat = 0; seat < seats.length; seat++) {
+            if ((live & (1 << seat)) != 0) {
+                showdownValues[seat] = showdownStrength(seats[seat]);
+            }
+        }
+        if (Integer.bitCount(live) > 1) {
+            for (HandObserver observer : observers) {
+                observer.showdown(this, live);
+            }
+        }
+
+        int paidLevel = 0;
+        int paidOut = 0;
+        int lastWinner = -1;
+
+        while (true) {
+            // The next pot is capped by the smallest contribution still above what has been paid out
+            int level = Integer.MAX_VALUE;
+            for (int seat = 0; seat < seats.length; seat++) {
+                int totalBet = seats[seat].getTotalBet();
+                if ((live & (1 << seat)) != 0 && totalBet > paidLevel) {
+                    level = Math.min(level, totalBet);
+                }
+            }
+            if (level == Integer.MAX_VALUE) {
+                break;
+            }
 
-        // Use modulo to cycle to the next player
-        return allPlayers.get((currentIndex + 1) % allPlayers.size());
+            int sidePot = 0;
+            int best = Integer.MIN_VALUE;
+            int eligible = 0;
+            for (int seat = 0; seat < seats.length; seat++) {
+                int totalBet = seats[seat].getTotalBet();
+                sidePot += Math.min(totalBet, level) - Math.min(totalBet, paidLevel);
+                if ((live & (1 << seat)) != 0 && totalBet >= level) {
+                    eligible |= 1 << seat;
+                    best = Math.max(best, showdownValues[seat]);
+                }
+            }
+
+            int winnersMask = 0;
+            for (int seat = 0; seat < seats.length; seat++) {
+                if ((eligible & (1 << seat)) != 0 && showdownValues[seat] == best) {
+                    winnersMask |= 1 << seat;
+                }
+            }
+            int winners = Integer.bitCount(winnersMask);
+            int share = sidePot / winners;
+            int oddChips = sidePot - share * winners;
+            for (int seat = 0; seat < seats.length; seat++) {
+                if ((winnersMask & (1 << seat)) != 0) {
+                    Player player = seats[seat];
+                    awardChips(seat, share + oddChips);
+                    oddChips = 0;
+                    lastWinner = seat;
+                    if (GameLog.isEnabled(LogLevel.INFO)) {
+                        GameLog.log(LogLevel.INFO, LOG_SOURCE, "{} wins the pot of ${}!", player.getName(), winners == 1 ? sidePot : share);
+                    }
+                }
+            }
+            paidOut += sidePot;
+            paidLevel = level;
+        }
+
+        // Chips folded players put in above every live stack go to the last pot's winner
+        if (lastWinner >= 0 && paidOut < pot) {
+            awardChips(lastWinner, pot - paidOut);
+        }
+        pot = 0; // Reset pot
     }
 
-    private List<Player> getAllPlayers() {
-        List<Player> allPlayers = new ArrayList<>();
-        allPlayers.add(humanPlayer);
-        allPlayers.addAll(aiPlayers);
-        return allPlayers;
+    private void awardChips(int seat, int amount) {
+        seats[seat].addChips(amount);
+        for (HandObserver observer : observers) {
+            observer.potAwarded(this, seat, amount);
+        }
     }
 
-    private void logAction(String message) {
-        System.out.println(message);
+    // Higher is stronger; uses the full board once the flop is out
+    private int showdownStrength(Player player) {
+        if (communityCards.size() >= 3) {
+            return HandEvaluator.evaluate(player.getHandMask() | boardMask);
+        }
+        // Hand ended before the flop, fall back to the preflop ranking (1 is the best hand)
+        return -HandEvaluator.evaluateHand(player.getHand());
     }
 }
@@ -1,5 +1,20 @@
 package poker.models;
 
+import java.util.List;
+
+/**
+ * Receives what happens at a table. A listener set with PokerGame.setListener is called synchronously
+ * on the game's thread with onHumanTurn only. A listener added with PokerGame.addListener gets the whole
+ * event stream instead: onEvents is called on that listener's own delivery thread with every event
+ * since the previous call, in the order they happened. A listener that falls thousands of events behind
+ * misses the newest ones: a GameEvent.EventsDropped marks the gap in its stream, and
+ * PokerGame.getDroppedEventCount counts them.
+ */
 public interface PokerGameListener {
-    void onHumanTurn();
+
+    default void onHumanTurn() {
+    }
+
+    default void onEvents(List<GameEvent> events) {
+    }
 }
@@ -0,0 +1,10 @@
+package poker.models;
+
+// Betting rounds of a hand, in order
+public enum Street {
+    PREFLOP, FLOP, TURN, RIVER, SHOWDOWN;
+
+    public Street next() {
+        return this == SHOWDOWN ? SHOWDOWN : values()[ordinal() + 1];
+    }
+}
@@ -0,0 +1,26 @@
+package poker.replay;
+
+// The first point at which a replayed hand stopped matching its recording
+public class Divergence {
+
+    private final long handNumber;
+    private final String description;
+
+    Divergence(long handNumber, String description) {
+        this.handNumber = handNumber;
+        this.description = description;
+    }
+
+    public long getHandNumber() {
+        return handNumber;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return "Hand " + handNumber + ": " + description;
+    }
+}
@@ -0,0 +1,105 @@
+package poker.replay;
+
+import poker.history.HandHistoryReader;
+import poker.history.RecordedHand;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plays recorded hands back through PokerGame: each hand is dealt from its recorded seed and the seats
+ * make the recorded decisions, so an unchanged engine reproduces every card, bet and chip award. Use it
+ * as a regression check after engine changes, or to push recorded traffic through the engine as a load
+ * test. Hands are replayed independently, so the first divergence of each hand is reported and the run
+ * carries on with the next hand.
+ */
+public class ReplayEngine {
+
+    private static final int MAX_REPORTED_DIVERGENCES = 100;
+
+    // One table per seat count and blind level, reused for every hand that matches it
+    private final Map<Long, ReplayTable> tables = new HashMap<>();
+
+    // Returns where the hand diverged from its recording, or null if the engine reproduced it exactly
+    public Divergence replay(RecordedHand hand) {
+        long key = (long) hand.getSeatCount() << 56 | (long) hand.getSmallBlind() << 28 | hand.getBigBlind();
+        ReplayTable table = tables.computeIfAbsent(key,
+                k -> new ReplayTable(hand.getSeatCount(), hand.getSmallBlind(), hand.getBigBlind()));
+        return table.replay(hand);
+    }
+
+    public Report replay(Path historyDirectory) throws IOException {
+        Report report = new Report();
+        long start = System.nanoTime();
+        HandHistoryReader.forEachHand(historyDirectory, hand -> report.add(replay(hand)));
+        report.elapsedNanos = System.nanoTime() - start;
+        return report;
+    }
+
+    public static class Report {
+        private long hands;
+        private long divergedHands;
+        private long elapsedNanos;
+        private final List<Divergence> divergences = new ArrayList<>();
+
+        private void add(Divergence divergence) {
+            hands++;
+            if (divergence != null) {
+                divergedHands++;
+                if (divergences.size() < MAX_REPORTED_DIVERGENCES) {
+                    divergences.add(divergence);
+                }
+            }
+        }
+
+        public long getHands() {
+            return hands;
+        }
+
+        public long getDivergedHands() {
+            return divergedHands;
+        }
+
+        // The first divergences found, in replay order (at most 100)
+        public List<Divergence> getDivergences() {
+            return divergences;
+        }
+
+        public boolean isIdentical() {
+            return divergedHands == 0;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getHandsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : hands * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hands replayed in %.2f s (%.0f hands/s), %d diverged",
+                    hands, elapsedNanos / 1e9, getHandsPerSecond(), divergedHands);
+        }
+    }
+
+    // Usage: ReplayEngine <history directory>
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayEngine <history directory>");
+            System.exit(2);
+        }
+        Report report = new ReplayEngine().replay(Paths.get(args[0]));
+        System.out.println(report);
+        for (Divergence divergence : report.getDivergences()) {
+            System.out.println(divergence);
+        }
+        System.exit(report.isIdentical() ? 0 : 1);
+    }
+}
@@ -0,0 +1,159 @@
+package poker.replay;
+
+import poker.history.RecordedHand;
+import poker.models.ActionType;
+import poker.models.Card;
+import poker.models.HandObserver;
+import poker.models.Player;
+import poker.models.PokerAI;
+import poker.models.PokerGame;
+import poker.models.Street;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One table that replays recorded hands of a given size and blinds. Each hand is dealt from its
+ * recorded seed, the scripted seats play the recorded actions, and every event the engine produces is
+ * checked against the recording as it happens.
+ */
+class ReplayTable implements HandObserver {
+
+    private final PokerGame game;
+    private final int[] awards;
+    private RecordedHand expected;
+    private int actionIndex;
+    private int raiseAmount;
+    private Divergence divergence;
+
+    ReplayTable(int seatCount, int smallBlind, int bigBlind) {
+        List<PokerAI> players = new ArrayList<>(seatCount);
+        for (int seat = 0; seat < seatCount; seat++) {
+            players.add(new ScriptedAI(this, seat));
+        }
+        this.game = new PokerGame(players, smallBlind, bigBlind);
+        this.awards = new int[seatCount];
+        game.addObserver(this);
+    }
+
+    // Plays the hand again and returns where it diverged from the recording, or null if it matched
+    Divergence replay(RecordedHand hand) {
+        int seatCount = hand.getSeatCount();
+        for (int seat = 0; seat < seatCount; seat++) {
+            game.getSeat(seat).setBalance(hand.getStartingStack(seat));
+            awards[seat] = 0;
+        }
+        expected = hand;
+        actionIndex = 0;
+        divergence = null;
+
+        game.setDealerSeat((hand.getDealerSeat() + seatCount - 1) % seatCount);
+        game.setNextHandSeed(hand.getHandSeed());
+        try {
+            game.playHand();
+        } catch (RuntimeException e) {
+            diverge("engine failed: " + e);
+            return divergence;
+        }
+
+        if (actionIndex < hand.getActions().size()) {
+            diverge("hand ended with " + (hand.getActions().size() - actionIndex) + " recorded actions left, next "
+                    + hand.getActions().get(actionIndex));
+        }
+        for (int seat = 0; seat < seatCount; seat++) {
+            if (awards[seat] != hand.getAward(seat)) {
+                diverge("seat " + seat + " won " + awards[seat] + ", recorded " + hand.getAward(seat));
+            }
+        }
+        return divergence;
+    }
+
+    // Called by the scripted seats when the engine asks them to act
+    String nextAction(int seat, int currentBet) {
+        List<RecordedHand.Action> actions = expected.getActions();
+        if (actionIndex == actions.size()) {
+            diverge("seat " + seat + " asked to act after the last recorded action");
+            return "fold";
+        }
+        RecordedHand.Action action = actions.get(actionIndex);
+        if (action.getSeat() != seat || action.getStreet() != game.getStreet()) {
+            diverge("seat " + seat + " asked to act on the " + game.getStreet() + ", recorded " + action);
+            return "fold";
+        }
+        actionIndex++;
+        switch (action.getType()) {
+            case FOLD:
+                return "fold";
+            case RAISE:
+                // Raise by whatever takes this seat's bet to the recorded chips put in
+                raiseAmount = game.getSeat(seat).getCurrentBet() + action.getAmount() - currentBet;
+                return "raise";
+            default:
+                return "call";
+        }
+    }
+
+    int nextRaiseAmount() {
+        return raiseAmount;
+    }
+
+    @Override
+    public void handStarted(PokerGame game) {
+        if (game.getDealerSeat() != expected.getDealerSeat() || game.getSmallBlindSeat() != expected.getSmallBlindSeat()
+                || game.getBigBlindSeat() != expected.getBigBlindSeat()) {
+            diverge("button and blinds on seats " + game.getDealerSeat() + "/" + game.getSmallBlindSeat() + "/"
+                    + game.getBigBlindSeat() + ", recorded " + expected.getDealerSeat() + "/"
+                    + expected.getSmallBlindSeat() + "/" + expected.getBigBlindSeat());
+        }
+        for (int seat = 0; seat < game.getSeatCount(); seat++) {
+            List<Card> cards = game.getSeat(seat).getHand();
+            Card[] recorded = expected.getHoleCards(seat);
+            boolean matches = recorded == null ? cards.isEmpty()
+                    : cards.size() == 2 && cards.get(0) == recorded[0] && cards.get(1) == recorded[1];
+            if (!matches) {
+                diverge("seat " + seat + " dealt " + cards + ", recorded "
+                        + (recorded == null ? "no cards" : recorded[0] + " " + recorded[1]));
+            }
+        }
+    }
+
+    @Override
+    public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+        if (smallBlindPaid != expected.getSmallBlindPaid() || bigBlindPaid != expected.getBigBlindPaid()) {
+            diverge("blinds of " + smallBlindPaid + "/" + bigBlindPaid + ", recorded "
+                    + expected.getSmallBlindPaid() + "/" + expected.getBigBlindPaid());
+        }
+    }
+
+    @Override
+    public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+        if (divergence != null) {
+            return;
+        }
+        RecordedHand.Action recorded = expected.getActions().get(actionIndex - 1);
+        if (recorded.getType() != action || recorded.getAmount() != amount) {
+            diverge("seat " + seat + " played " + action + " " + amount + ", recorded " + recorded);
+        }
+    }
+
+    @Override
+    public void streetDealt(PokerGame game, Street street) {
+        List<Card> board = game.getCommunityCards();
+        List<Card> recorded = expected.getBoard();
+        if (board.size() > recorded.size() || !board.equals(recorded.subList(0, board.size()))) {
+            diverge("board " + board + " on the " + street + ", recorded " + recorded);
+        }
+    }
+
+    @Override
+    public void potAwarded(PokerGame game, int seat, int amount) {
+        awards[seat] += amount;
+    }
+
+    private void diverge(String description) {
+        // Only the first difference matters; everything after it follows from it
+        if (divergence == null) {
+            divergence = new Divergence(expected.getHandNumber(), description);
+        }
+    }
+}
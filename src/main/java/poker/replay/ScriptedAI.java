@@ -0,0 +1,29 @@
+package poker.replay;
+
+import poker.models.Card;
+import poker.models.PokerAI;
+
+import java.util.List;
+
+// A PokerAI seat whose decisions come from a recorded hand instead of its own strategy
+class ScriptedAI extends PokerAI {
+
+    private final ReplayTable table;
+    private final int seat;
+
+    ScriptedAI(ReplayTable table, int seat) {
+        super("Seat " + seat, 0, 50, 50, 50, 50);
+        this.table = table;
+        this.seat = seat;
+    }
+
+    @Override
+    public String decideAction(int currentBet, int pot, int position, List<Card> communityCards) {
+        return table.nextAction(seat, currentBet);
+    }
+
+    @Override
+    public int decideRaiseAmount(int pot) {
+        return table.nextRaiseAmount();
+    }
+}
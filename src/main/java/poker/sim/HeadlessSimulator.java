@@ -0,0 +1,124 @@
+package poker.sim;
+
+import poker.models.PokerAI;
+import poker.models.PokerGame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete hands between PokerAI seats with no JavaFX and no console output, for tuning AI
+ * parameters on machines without a display. Busted players rebuy to the starting stack so a run can
+ * last for millions of hands.
+ */
+public class HeadlessSimulator {
+
+    private final List<PokerAI> players;
+    private final PokerGame game;
+    private final int startingChips;
+    private final long[] rebuys;
+
+    public HeadlessSimulator(List<PokerAI> players, int startingChips, int smallBlind, int bigBlind) {
+        if (players.size() < 2) {
+            throw new IllegalArgumentException("A table needs at least 2 players.");
+        }
+        this.players = players;
+        this.startingChips = startingChips;
+        this.rebuys = new long[players.size()];
+        this.game = new PokerGame(players, smallBlind, bigBlind);
+    }
+
+    // Table of AIs with random personalities in the same 40-60 range the UI uses; the seed also seeds the
+    // dealing and every AI's bluffs, so a run is reproducible
+    public static HeadlessSimulator withRandomPlayers(int playerCount, int startingChips, int smallBlind, int bigBlind, long seed) {
+        Random random = new Random(seed);
+        List<PokerAI> players = new ArrayList<>();
+        for (int i = 1; i <= playerCount; i++) {
+            players.add(new PokerAI("AI Player " + i, startingChips, random.nextInt(21) + 40, random.nextInt(21) + 40,
+                    random.nextInt(21) + 40, random.nextInt(21) + 40));
+        }
+        for (PokerAI player : players) {
+            player.setRandom(new SplittableRandom(random.nextLong()));
+        }
+        HeadlessSimulator simulator = new HeadlessSimulator(players, startingChips, smallBlind, bigBlind);
+        simulator.game.setSeed(seed);
+        return simulator;
+    }
+
+    public PokerGame getGame() {
+        return game;
+    }
+
+    public List<PokerAI> getPlayers() {
+        return players;
+    }
+
+    public Report run(long hands) {
+        long start = System.nanoTime();
+        for (long hand = 0; hand < hands; hand++) {
+            for (int i = 0; i < players.size(); i++) {
+                PokerAI player = players.get(i);
+                if (player.getChips() == 0) {
+                    player.addChips(startingChips);
+                    rebuys[i]++;
+                }
+            }
+            game.playHand();
+        }
+        return new Report(hands, System.nanoTime() - start);
+    }
+
+    // Net chips won by a seat over every hand played so far, counting rebuys as chips put in
+    public long getNetResult(int seat) {
+        return players.get(seat).getChips() - startingChips * (1 + rebuys[seat]);
+    }
+
+    public long getRebuys(int seat) {
+        return rebuys[seat];
+    }
+
+    public static class Report {
+        private final long hands;
+        private final long elapsedNanos;
+
+        Report(long hands, long elapsedNanos) {
+            this.hands = hands;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getHands() {
+            return hands;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getHandsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : hands * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hands in %.2f s (%.0f hands/s)", hands, elapsedNanos / 1e9, getHandsPerSecond());
+        }
+    }
+
+    // Usage: HeadlessSimulator [hands] [players] [seed]
+    public static void main(String[] args) {
+        long hands = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        HeadlessSimulator simulator = withRandomPlayers(playerCount, 1000, 10, 20, seed);
+        Report report = simulator.run(hands);
+
+        System.out.println(report);
+        for (int i = 0; i < playerCount; i++) {
+            System.out.printf("%s: net %+d chips, %d rebuys%n",
+                    simulator.getPlayers().get(i).getName(), simulator.getNetResult(i), simulator.getRebuys(i));
+        }
+    }
+}
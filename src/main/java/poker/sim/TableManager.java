@@ -0,0 +1,286 @@
+package poker.sim;
+
+import poker.log.GameLog;
+import poker.log.LogLevel;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many independent AI tables in one JVM, multiplexed over a small pool of carrier threads. A
+ * table plays a slice of hands, then goes to the back of the pool's queue, so thousands of tables share
+ * a few threads fairly. Only one carrier runs a given table at a time and tables share no game state, so
+ * a table that fails is stopped without affecting the others.
+ */
+public class TableManager implements AutoCloseable {
+
+    public static final int DEFAULT_HANDS_PER_SLICE = 64;
+    private static final String LOG_SOURCE = "TableManager";
+
+    private final ExecutorService carriers;
+    private final int handsPerSlice;
+    private final List<Table> tables = new CopyOnWriteArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger nextTableId = new AtomicInteger();
+    private final Object lock = new Object();
+    private int activeTables; // guarded by lock
+    private volatile boolean stopping;
+
+    public TableManager() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_HANDS_PER_SLICE);
+    }
+
+    public TableManager(int carrierThreads, int handsPerSlice) {
+        if (carrierThreads < 1 || handsPerSlice < 1) {
+            throw new IllegalArgumentException("Need at least one carrier thread and one hand per slice.");
+        }
+        this.handsPerSlice = handsPerSlice;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.carriers = Executors.newFixedThreadPool(carrierThreads, runnable -> {
+            Thread thread = new Thread(runnable, "table-carrier-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts playing hands at the table until it has played the given number of hands or the manager
+     * shuts down. The simulator must not be used by anything else while the table runs.
+     */
+    public Table addTable(HeadlessSimulator simulator, long hands) {
+        Table table = new Table(nextTableId.getAndIncrement(), simulator, hands);
+        synchronized (lock) {
+            if (stopping) {
+                throw new IllegalStateException("The table manager is shutting down.");
+            }
+            activeTables++;
+        }
+        tables.add(table);
+        carriers.execute(table);
+        return table;
+    }
+
+    // Adds tables of AIs with random personalities, each with its own seed, playing until shutdown
+    public List<Table> addTables(int count, int playersPerTable, int startingChips, int smallBlind, int bigBlind, long seed) {
+        List<Table> added = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HeadlessSimulator simulator = HeadlessSimulator.withRandomPlayers(playersPerTable, startingChips, smallBlind, bigBlind, seed + i);
+            added.add(addTable(simulator, Long.MAX_VALUE));
+        }
+        return added;
+    }
+
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    // Stops every table at the end of its current slice of hands; returns immediately
+    public void shutdown() {
+        synchronized (lock) {
+            stopping = true;
+            if (activeTables == 0) {
+                carriers.shutdown();
+            }
+        }
+    }
+
+    // Waits for every table to stop; true if they all did within the timeout
+    public boolean awaitTermination(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            while (activeTables > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                lock.wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+            }
+        }
+        return true;
+    }
+
+    // Blocks until every table has finished its hands; the manager keeps accepting tables
+    public void awaitTables() throws InterruptedException {
+        synchronized (lock) {
+            while (activeTables > 0) {
+                lock.wait();
+            }
+        }
+    }
+
+    // Graceful shutdown: lets every table finish its current slice of hands
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            awaitTables();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // stop waiting; the tables still stop after their slice
+        }
+        carriers.shutdown();
+    }
+
+    public Report getReport() {
+        long hands = 0;
+        int running = 0;
+        int failed = 0;
+        for (Table table : tables) {
+            hands += table.getHandsPlayed();
+            if (table.getFailure() != null) {
+                failed++;
+            } else if (!table.isFinished()) {
+                running++;
+            }
+        }
+        return new Report(tables.size(), running, failed, hands, System.nanoTime() - startNanos);
+    }
+
+    private void tableFinished() {
+        synchronized (lock) {
+            activeTables--;
+            if (activeTables == 0) {
+                if (stopping) {
+                    carriers.shutdown();
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // One table and its progress; everything except the counters is confined to the carrier running it
+    public class Table implements Runnable {
+        private final int id;
+        private final HeadlessSimulator simulator;
+        private final long targetHands;
+        private volatile long handsPlayed;
+        private volatile boolean finished;
+        private volatile Throwable failure;
+
+        Table(int id, HeadlessSimulator simulator, long targetHands) {
+            this.id = id;
+            this.simulator = simulator;
+            this.targetHands = targetHands;
+        }
+
+        // Plays one slice and requeues the table; anything else, even an Error, finishes it
+        @Override
+        public void run() {
+            boolean requeued = false;
+            try {
+                long slice = Math.min(handsPerSlice, targetHands - handsPlayed);
+                if (stopping || slice <= 0) {
+                    return;
+                }
+                simulator.run(slice);
+                handsPlayed += slice;
+                carriers.execute(this);
+                requeued = true;
+            } catch (RuntimeException e) {
+                failure = e;
+                GameLog.log(LogLevel.ERROR, LOG_SOURCE, "Table " + id + " stopped after a failure", e);
+            } catch (Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                if (!requeued) {
+                    finish();
+                }
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            tableFinished();
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        // Only safe to use once the table has finished
+        public HeadlessSimulator getSimulator() {
+            return simulator;
+        }
+
+        public long getHandsPlayed() {
+            return handsPlayed;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        // The exception or error that stopped the table, or null
+        public Throwable getFailure() {
+            return failure;
+        }
+    }
+
+    public static class Report {
+        private final int tables;
+        private final int running;
+        private final int failed;
+        private final long hands;
+        private final long elapsedNanos;
+
+        Report(int tables, int running, int failed, long hands, long elapsedNanos) {
+            this.tables = tables;
+            this.running = running;
+            this.failed = failed;
+            this.hands = hands;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getTables() {
+            return tables;
+        }
+
+        public int getRunningTables() {
+            return running;
+        }
+
+        public int getFailedTables() {
+            return failed;
+        }
+
+        public long getHands() {
+            return hands;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getHandsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : hands * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d tables (%d running, %d failed): %d hands in %.2f s (%.0f hands/s)",
+                    tables, running, failed, hands, elapsedNanos / 1e9, getHandsPerSecond());
+        }
+    }
+
+    // Usage: TableManager [tables] [players per table] [seconds] [carrier threads]
+    public static void main(String[] args) throws InterruptedException {
+        int tableCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long seconds = args.length > 2 ? Long.parseLong(args[2]) : 10;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        TableManager manager = new TableManager(threads, DEFAULT_HANDS_PER_SLICE);
+        manager.addTables(tableCount, players, 1000, 10, 20, System.nanoTime());
+        for (long second = 1; second <= seconds; second++) {
+            Thread.sleep(1000);
+            System.out.println(manager.getReport());
+        }
+        manager.close();
+        System.out.println(manager.getReport());
+    }
+}
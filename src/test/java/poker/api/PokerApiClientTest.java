@@ -0,0 +1,113 @@
+package poker.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PokerApiClientTest {
+
+    private static final String INPUT = "p1: AS AH; p2: KS KH; board: 2C 7D 9H JS 3C";
+    private static final String WIN = "{\"data\":{\"calcWinner\":" + StubServer.calcWinner("p1", "p2") + "}}";
+
+    @Test
+    void determineWinnerAsyncParsesTheResult() throws Exception {
+        try (StubServer server = new StubServer(request -> StubServer.Reply.ok(WIN))) {
+            ShowdownResult result = new PokerApiClient(server.url()).determineWinnerAsync(INPUT).join();
+            assertTrue(result.isWinner("p1"));
+            assertEquals(2, result.getPlayers().size());
+            assertEquals(2, result.getPlayers().get(1).getHandStrength());
+        }
+    }
+
+    @Test
+    void determineWinnerKeepsTheMapShape() throws Exception {
+        try (StubServer server = new StubServer(request -> StubServer.Reply.ok(WIN))) {
+            Map<String, Object> result = new PokerApiClient(server.url()).determineWinner(INPUT);
+            assertEquals(List.of("p1"), result.get("winners"));
+        }
+    }
+
+    @Test
+    void playerInputIsSentAsAVariable() throws Exception {
+        List<String> requests = new ArrayList<>();
+        try (StubServer server = new StubServer(request -> {
+            requests.add(request);
+            return StubServer.Reply.ok(WIN);
+        })) {
+            new PokerApiClient(server.url()).determineWinnerAsync(INPUT).join();
+            assertTrue(requests.get(0).contains("\"p0\":\"" + INPUT + "\""), requests.get(0));
+        }
+    }
+
+    @Test
+    void httpErrorFailsTheFuture() throws Exception {
+        try (StubServer server = new StubServer(request -> new StubServer.Reply(500, "boom", 0))) {
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> new PokerApiClient(server.url()).determineWinnerAsync(INPUT).join());
+            assertTrue(error.getCause().getMessage().contains("500"), error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void graphQlErrorFailsTheFuture() throws Exception {
+        String reply = "{\"data\":{\"calcWinner\":null},\"errors\":[{\"message\":\"bad input\"}]}";
+        try (StubServer server = new StubServer(request -> StubServer.Reply.ok(reply))) {
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> new PokerApiClient(server.url()).determineWinnerAsync(INPUT).join());
+            assertTrue(error.getCause().getMessage().contains("bad input"), error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void connectionIsReused() throws Exception {
+        try (StubServer server = new StubServer(request -> StubServer.Reply.ok(WIN))) {
+            PokerApiClient client = new PokerApiClient(server.url());
+            for (int i = 0; i < 10; i++) {
+                client.determineWinnerAsync(INPUT).join();
+            }
+            assertEquals(10, server.getRequests());
+            assertEquals(1, server.getConnections());
+        }
+    }
+
+    @Test
+    void concurrentRequestsAreLimited() throws Exception {
+        try (StubServer server = new StubServer(request -> new StubServer.Reply(200, WIN, 50))) {
+            PokerApiClient client = new PokerApiClient(server.url(), Duration.ofSeconds(5), Duration.ofSeconds(10), 2);
+            List<CompletableFuture<ShowdownResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(client.determineWinnerAsync(INPUT));
+            }
+            for (CompletableFuture<ShowdownResult> result : results) {
+                assertTrue(result.join().isWinner("p1"));
+            }
+            assertEquals(8, server.getRequests());
+            assertEquals(2, server.getMaxInFlight());
+        }
+    }
+
+    @Test
+    void slowResponseTimesOutAndFreesItsPermit() throws Exception {
+        try (StubServer server = new StubServer(request -> new StubServer.Reply(200, WIN,
+                request.contains("slow") ? 2000 : 0))) {
+            PokerApiClient client = new PokerApiClient(server.url(), Duration.ofSeconds(5), Duration.ofMillis(200), 1);
+            CompletionException error = assertThrows(CompletionException.class,
+                    () -> client.determineWinnerAsync("slow").join());
+            assertInstanceOf(HttpTimeoutException.class, error.getCause());
+
+            // The only permit was released, so the next request still goes through
+            assertTrue(client.determineWinnerAsync(INPUT).join().isWinner("p1"));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package poker.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShowdownBatcherTest {
+
+    // Answers alias sN with player "pN" winning, leaving out the aliases listed in missing
+    private static StubServer.Reply batchReply(int size, int... missing) {
+        StringBuilder data = new StringBuilder("{\"data\":{");
+        String separator = "";
+        for (int i = 0; i < size; i++) {
+            boolean skip = false;
+            for (int m : missing) {
+                skip |= m == i;
+            }
+            if (!skip) {
+                data.append(separator).append("\"s").append(i).append("\":").append(StubServer.calcWinner("p" + i, "x"));
+                separator = ",";
+            }
+        }
+        data.append("}");
+        if (missing.length > 0) {
+            data.append(",\"errors\":[{\"message\":\"bad input\"}]");
+        }
+        return StubServer.Reply.ok(data.append("}").toString());
+    }
+
+    @Test
+    void showdownsShareOneRequest() throws Exception {
+        List<String> requests = new ArrayList<>();
+        try (StubServer server = new StubServer(request -> {
+            requests.add(request);
+            return batchReply(4);
+        }); ShowdownBatcher batcher = new ShowdownBatcher(new PokerApiClient(server.url()), 4, Duration.ofSeconds(10))) {
+            List<CompletableFuture<ShowdownResult>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(batcher.determineWinnerAsync("showdown " + i));
+            }
+            for (int i = 0; i < 4; i++) {
+                assertTrue(results.get(i).get(5, TimeUnit.SECONDS).isWinner("p" + i));
+            }
+            assertEquals(1, server.getRequests());
+            assertEquals(1, batcher.getBatchesSent());
+            assertEquals(4, batcher.getShowdownsSent());
+            String request = requests.get(0);
+            assertTrue(request.contains("s3: calcWinner(input: { playerInput: $p3 })"), request);
+            assertTrue(request.contains("\"p3\":\"showdown 3\""), request);
+        }
+    }
+
+    @Test
+    void partialBatchIsSentAfterTheDelay() throws Exception {
+        try (StubServer server = new StubServer(request -> batchReply(2));
+             ShowdownBatcher batcher = new ShowdownBatcher(new PokerApiClient(server.url()), 32, Duration.ofMillis(20))) {
+            CompletableFuture<ShowdownResult> first = batcher.determineWinnerAsync("a");
+            CompletableFuture<ShowdownResult> second = batcher.determineWinnerAsync("b");
+            assertTrue(first.get(5, TimeUnit.SECONDS).isWinner("p0"));
+            assertTrue(second.get(5, TimeUnit.SECONDS).isWinner("p1"));
+            assertEquals(1, server.getRequests());
+        }
+    }
+
+    @Test
+    void rejectedShowdownFailsOnItsOwn() throws Exception {
+        try (StubServer server = new StubServer(request -> batchReply(3, 1));
+             ShowdownBatcher batcher = new ShowdownBatcher(new PokerApiClient(server.url()), 3, Duration.ofSeconds(10))) {
+            CompletableFuture<ShowdownResult> first = batcher.determineWinnerAsync("a");
+            CompletableFuture<ShowdownResult> rejected = batcher.determineWinnerAsync("b");
+            CompletableFuture<ShowdownResult> third = batcher.determineWinnerAsync("c");
+
+            assertTrue(first.get(5, TimeUnit.SECONDS).isWinner("p0"));
+            assertTrue(third.get(5, TimeUnit.SECONDS).isWinner("p2"));
+            CompletionException error = assertThrows(CompletionException.class, rejected::join);
+            assertTrue(error.getCause().getMessage().contains("bad input"), error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void failedRequestFailsTheWholeBatch() throws Exception {
+        try (StubServer server = new StubServer(request -> new StubServer.Reply(503, "down", 0));
+             ShowdownBatcher batcher = new ShowdownBatcher(new PokerApiClient(server.url()), 2, Duration.ofSeconds(10))) {
+            CompletableFuture<ShowdownResult> first = batcher.determineWinnerAsync("a");
+            CompletableFuture<ShowdownResult> second = batcher.determineWinnerAsync("b");
+            assertThrows(CompletionException.class, first::join);
+            assertThrows(CompletionException.class, second::join);
+        }
+    }
+
+    @Test
+    void batchThatCannotBeWrittenStillCompletes() throws Exception {
+        try (StubServer server = new StubServer(request -> batchReply(2));
+             ShowdownBatcher batcher = new ShowdownBatcher(new PokerApiClient(server.url()), 2, Duration.ofSeconds(10))) {
+            CompletableFuture<ShowdownResult> first = batcher.determineWinnerAsync("a");
+            CompletableFuture<ShowdownResult> broken = batcher.determineWinnerAsync(null);
+
+            // The request body can't be written, so both fail instead of waiting forever
+            assertThrows(CompletionException.class, () -> first.orTimeout(5, TimeUnit.SECONDS).join());
+            assertThrows(CompletionException.class, () -> broken.orTimeout(5, TimeUnit.SECONDS).join());
+            assertEquals(0, server.getRequests());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package poker.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShowdownCacheTest {
+
+    private static final String INPUT = "p1: AS AH; p2: KS KH; board: 2C 7D 9H JS 3C";
+    // Same showdown with the players swapped and hearts/spades exchanged
+    private static final String RELABELED = "b: KH KS; a: AH AS; board: 2C 7D 9S JH 3C";
+
+    private static ShowdownResult p1Wins() {
+        ShowdownResult.PlayerHand p1 = new ShowdownResult.PlayerHand("p1", List.of("AS", "AH"), 1);
+        ShowdownResult.PlayerHand p2 = new ShowdownResult.PlayerHand("p2", List.of("KS", "KH"), 1);
+        return new ShowdownResult(List.of(p1), List.of(p1, p2));
+    }
+
+    @Test
+    void relabeledShowdownIsAHit() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ShowdownCache cache = new ShowdownCache(input -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(p1Wins());
+        }, 16, null, false);
+
+        assertTrue(cache.determineWinner(INPUT).isWinner("p1"));
+        ShowdownResult hit = cache.determineWinner(RELABELED);
+        assertTrue(hit.isWinner("a"));
+        assertEquals(List.of("AH", "AS"), hit.getWinners().get(0).getHand());
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void slowRemoteIsSettledLocallyAndStillCached() throws Exception {
+        CompletableFuture<ShowdownResult> slow = new CompletableFuture<>();
+        ShowdownCache cache = new ShowdownCache(input -> slow, 16, Duration.ofMillis(20), true);
+
+        ShowdownResult local = cache.determineWinnerAsync(INPUT).get(5, TimeUnit.SECONDS);
+        assertTrue(local.isWinner("p1"));
+        assertEquals(0, cache.size());
+        // The counter is bumped just after the result completes, on the timer thread
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getFallbacks() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, cache.getFallbacks());
+
+        slow.complete(p1Wins());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void fastRemoteIsNotOverriddenByTheBudget() throws Exception {
+        ShowdownCache cache = new ShowdownCache(input -> CompletableFuture.completedFuture(p1Wins()),
+                16, Duration.ofMillis(1), true);
+        cache.determineWinner(INPUT);
+        Thread.sleep(20);
+        assertEquals(0, cache.getFallbacks());
+    }
+
+    @Test
+    void failedRemoteFallsBackToTheEvaluator() throws Exception {
+        ShowdownCache cache = new ShowdownCache(input -> CompletableFuture.failedFuture(new RuntimeException("down")),
+                16, null, true);
+        ShowdownResult local = cache.determineWinner(INPUT);
+        assertTrue(local.isWinner("p1"));
+        assertEquals(List.of("AS", "AH"), local.getPlayers().get(0).getHand());
+        assertEquals(ShowdownResult.NO_STRENGTH, local.getPlayers().get(0).getHandStrength());
+        assertEquals(1, cache.getFallbacks());
+    }
+
+    @Test
+    void nullInputGoesToTheServiceUncached() {
+        List<String> sent = new ArrayList<>();
+        ShowdownCache cache = new ShowdownCache(input -> {
+            sent.add(input);
+            return CompletableFuture.failedFuture(new IllegalArgumentException("no input"));
+        }, 16, null, true);
+        CompletableFuture<ShowdownResult> result = cache.determineWinnerAsync(null);
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(Collections.singletonList(null), sent);
+        assertEquals(1, cache.getUncacheable());
+    }
+}
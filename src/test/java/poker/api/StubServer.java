@@ -0,0 +1,102 @@
+package poker.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// In-process stand-in for the GraphQL service: answers every POST with what the responder returns
+class StubServer implements AutoCloseable {
+
+    static class Reply {
+        final int status;
+        final String body;
+        final long delayMillis;
+
+        Reply(int status, String body, long delayMillis) {
+            this.status = status;
+            this.body = body;
+            this.delayMillis = delayMillis;
+        }
+
+        static Reply ok(String body) {
+            return new Reply(200, body, 0);
+        }
+    }
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    StubServer(Function<String, Reply> responder) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/", exchange -> handle(exchange, responder));
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange, Function<String, Reply> responder) throws IOException {
+        requests.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Reply reply = responder.apply(request);
+            if (reply.delayMillis > 0) {
+                Thread.sleep(reply.delayMillis);
+            }
+            byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+            inFlight.decrementAndGet(); // before the reply, so the client never sees more in flight than it sent
+            exchange.sendResponseHeaders(reply.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    int getRequests() {
+        return requests.get();
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    // Distinct client sockets the requests arrived on
+    int getConnections() {
+        return clientPorts.size();
+    }
+
+    // A calcWinner result where the first player listed wins
+    static String calcWinner(String winner, String loser) {
+        return "[{\"winners\":[{\"id\":\"" + winner + "\",\"hand\":[\"AS\",\"AH\"]}],"
+                + "\"players\":[{\"id\":\"" + winner + "\",\"hand\":[\"AS\",\"AH\"],\"handStrength\":1},"
+                + "{\"id\":\"" + loser + "\",\"hand\":[\"KS\",\"KH\"],\"handStrength\":2}]}]";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
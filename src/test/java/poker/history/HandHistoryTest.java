@@ -0,0 +1,247 @@
+package poker.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.models.ActionType;
+import poker.models.Card;
+import poker.models.HandObserver;
+import poker.models.Player;
+import poker.models.PokerAI;
+import poker.models.PokerGame;
+import poker.models.Street;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandHistoryTest {
+
+    private static final int SEGMENT_SIZE = 2 * HandHistoryWriter.BATCH_SIZE;
+
+    @TempDir
+    Path directory;
+
+    // What the engine reported for one hand, captured next to the recorder for comparison
+    private static class Expected {
+        long handNumber;
+        long handSeed;
+        int dealerSeat;
+        int smallBlindSeat;
+        int bigBlindSeat;
+        int[] stacks;
+        Card[][] holeCards;
+        int smallBlindPaid;
+        int bigBlindPaid;
+        final List<String> actions = new ArrayList<>();
+        List<Card> board = List.of();
+        int[] awards;
+    }
+
+    private static class Capture implements HandObserver {
+        final List<Expected> hands = new ArrayList<>();
+        Expected current;
+
+        @Override
+        public void handStarted(PokerGame game) {
+            current = new Expected();
+            current.handNumber = game.getHandNumber();
+            current.handSeed = game.getHandSeed();
+            current.dealerSeat = game.getDealerSeat();
+            current.smallBlindSeat = game.getSmallBlindSeat();
+            current.bigBlindSeat = game.getBigBlindSeat();
+            int seats = game.getSeatCount();
+            current.stacks = new int[seats];
+            current.holeCards = new Card[seats][];
+            current.awards = new int[seats];
+            for (int seat = 0; seat < seats; seat++) {
+                Player player = game.getSeat(seat);
+                current.stacks[seat] = player.getChips();
+                List<Card> cards = player.getHand();
+                current.holeCards[seat] = cards.size() == 2 ? cards.toArray(new Card[0]) : null;
+            }
+        }
+
+        @Override
+        public void blindsPosted(PokerGame game, int smallBlindPaid, int bigBlindPaid) {
+            current.smallBlindPaid = smallBlindPaid;
+            current.bigBlindPaid = bigBlindPaid;
+        }
+
+        @Override
+        public void actionTaken(PokerGame game, int seat, ActionType action, int amount) {
+            current.actions.add(game.getStreet() + " " + seat + " " + action + " " + amount);
+        }
+
+        @Override
+        public void streetDealt(PokerGame game, Street street) {
+            current.board = List.copyOf(game.getCommunityCards());
+        }
+
+        @Override
+        public void potAwarded(PokerGame game, int seat, int amount) {
+            current.awards[seat] += amount;
+        }
+
+        @Override
+        public void handEnded(PokerGame game) {
+            hands.add(current);
+        }
+    }
+
+    private static PokerGame table(long seed) {
+        List<PokerAI> players = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            players.add(new PokerAI("AI Player " + (i + 1), 10_000_000, 50, 50, 10, 50));
+        }
+        PokerGame game = new PokerGame(players, 5, 10);
+        game.setSeed(seed);
+        return game;
+    }
+
+    // Plays hands until stopped or until fewer than two players have chips left
+    private static void play(PokerGame game, int hands) {
+        for (int hand = 0; hand < hands; hand++) {
+            int funded = 0;
+            for (int seat = 0; seat < game.getSeatCount(); seat++) {
+                funded += game.getSeat(seat).getChips() > 0 ? 1 : 0;
+            }
+            if (funded < 2) {
+                return;
+            }
+            game.playHand();
+        }
+    }
+
+    private static List<RecordedHand> readAll(Path directory) throws IOException {
+        List<RecordedHand> hands = new ArrayList<>();
+        HandHistoryReader.forEachHand(directory, hands::add);
+        return hands;
+    }
+
+    @Test
+    void handsReadBackAcrossSegments() throws IOException {
+        PokerGame game = table(3);
+        Capture capture = new Capture();
+        try (HandHistoryWriter writer = new HandHistoryWriter(directory, SEGMENT_SIZE)) {
+            game.addObserver(writer.newRecorder());
+            game.addObserver(capture);
+            play(game, 5000);
+            assertNull(writer.getFailure());
+        }
+
+        assertTrue(HandHistoryReader.segments(directory).size() > 1, "expected the log to roll over");
+        List<RecordedHand> hands = readAll(directory);
+        assertEquals(capture.hands.size(), hands.size());
+        for (int i = 0; i < hands.size(); i++) {
+            Expected expected = capture.hands.get(i);
+            RecordedHand hand = hands.get(i);
+            String where = "hand " + expected.handNumber;
+            assertEquals(expected.handNumber, hand.getHandNumber(), where);
+            assertEquals(expected.handSeed, hand.getHandSeed(), where);
+            assertEquals(5, hand.getSmallBlind(), where);
+            assertEquals(10, hand.getBigBlind(), where);
+            assertEquals(expected.stacks.length, hand.getSeatCount(), where);
+            assertEquals(expected.dealerSeat, hand.getDealerSeat(), where);
+            assertEquals(expected.smallBlindSeat, hand.getSmallBlindSeat(), where);
+            assertEquals(expected.bigBlindSeat, hand.getBigBlindSeat(), where);
+            assertEquals(expected.smallBlindPaid, hand.getSmallBlindPaid(), where);
+            assertEquals(expected.bigBlindPaid, hand.getBigBlindPaid(), where);
+            for (int seat = 0; seat < hand.getSeatCount(); seat++) {
+                assertEquals(expected.stacks[seat], hand.getStartingStack(seat), where);
+                assertArrayEquals(expected.holeCards[seat], hand.getHoleCards(seat), where);
+                assertEquals(expected.awards[seat], hand.getAward(seat), where);
+            }
+            List<String> actions = new ArrayList<>();
+            for (RecordedHand.Action action : hand.getActions()) {
+                actions.add(action.getStreet() + " " + action.getSeat() + " " + action.getType() + " " + action.getAmount());
+            }
+            assertEquals(expected.actions, actions, where);
+            assertEquals(expected.board, hand.getBoard(), where);
+        }
+    }
+
+    @Test
+    void varLongsRoundTrip() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        long[] values = {0, 1, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE};
+        for (long value : values) {
+            HandHistoryFormat.putVarLong(buffer, value);
+        }
+        buffer.flip();
+        for (long value : values) {
+            assertEquals(value, HandHistoryFormat.getVarLong(buffer));
+        }
+        assertEquals(0, buffer.remaining());
+    }
+
+    @Test
+    void zeroedOrTruncatedTail() throws IOException {
+        PokerGame game = table(5);
+        try (HandHistoryWriter writer = new HandHistoryWriter(directory, SEGMENT_SIZE)) {
+            game.addObserver(writer.newRecorder());
+            play(game, 20);
+        }
+        Path segment = HandHistoryReader.segments(directory).get(0);
+        assertEquals(20, readAll(directory).size());
+
+        // Find where the last record starts
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(segment));
+        int lastRecord = HandHistoryFormat.HEADER_SIZE;
+        for (int hand = 0; hand < 19; hand++) {
+            lastRecord += 4 + bytes.getInt(lastRecord);
+        }
+        int lastLength = bytes.getInt(lastRecord);
+
+        // A zeroed tail reads as the end of the segment, like the unused space after the last hand
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4 + lastLength), lastRecord);
+        }
+        List<RecordedHand> hands = readAll(directory);
+        assertEquals(19, hands.size());
+
+        // A record cut short by the end of the file is reported, not misread
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, lastLength), lastRecord);
+            channel.truncate(lastRecord + 4 + lastLength / 2);
+        }
+        IOException error = assertThrows(IOException.class, () -> readAll(directory));
+        assertTrue(error.getMessage().contains("Corrupt record length"), error.getMessage());
+    }
+
+    @Test
+    void failedWriterStopsRecording() throws IOException {
+        PokerGame game = table(9);
+        Capture capture = new Capture();
+        HandHistoryWriter writer = new HandHistoryWriter(directory, SEGMENT_SIZE);
+        // The next segment's name is taken, so rolling over fails
+        Files.createFile(directory.resolve(HandHistoryFormat.segmentName(2)));
+        game.addObserver(writer.newRecorder());
+        game.addObserver(capture);
+
+        for (int round = 0; round < 100 && writer.getFailure() == null; round++) {
+            play(game, 500);
+        }
+        assertNotNull(writer.getFailure());
+        play(game, 2000); // recorded after the failure; nothing is queued for the stopped writer
+        assertThrows(IOException.class, writer::close);
+
+        long recorded = capture.hands.size();
+        assertTrue(writer.getHandsDropped() > 0);
+        assertEquals(recorded, writer.getHandsWritten() + writer.getHandsDropped());
+        List<RecordedHand> written = new ArrayList<>();
+        HandHistoryReader.readSegment(directory.resolve(HandHistoryFormat.segmentName(1)), written::add);
+        assertEquals(writer.getHandsWritten(), written.size());
+    }
+}
@@ -0,0 +1,16 @@
+package poker.history;
+
+import poker.models.ActionType;
+
+// Edits recorded hands for tests outside this package
+public final class RecordedHands {
+
+    private RecordedHands() {
+    }
+
+    // Replaces the action at index with the same seat and street playing type for amount chips
+    public static void changeAction(RecordedHand hand, int index, ActionType type, int amount) {
+        RecordedHand.Action action = hand.getActions().get(index);
+        hand.getActions().set(index, new RecordedHand.Action(action.getStreet(), action.getSeat(), type, amount));
+    }
+}
@@ -0,0 +1,52 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquityCalculatorTest {
+
+    private final EquityCalculator calculator = new EquityCalculator();
+
+    @Test
+    void acesAgainstKingsPreflop() {
+        EquityResult result = calculator.enumerate(List.of(hand("AS", "AH"), hand("KS", "KH")), List.of());
+        assertTrue(result.isExact());
+        assertEquals(1_712_304, result.getTrials());
+        assertEquals(0.82, result.getEquity(0), 0.01);
+        assertEquals(1.0, result.getEquity(0) + result.getEquity(1), 1e-9);
+    }
+
+    @Test
+    void samplingAgreesWithEnumeration() {
+        List<List<Card>> hands = List.of(hand("AS", "AH"), hand("KS", "KH"), hand("7D", "8D"));
+        List<Card> flop = List.of(Card.parse("2D"), Card.parse("9D"), Card.parse("TC"));
+        EquityResult exact = calculator.enumerate(hands, flop);
+        EquityResult sampled = calculator.simulate(hands, flop, 200_000);
+        for (int player = 0; player < hands.size(); player++) {
+            assertEquals(exact.getEquity(player), sampled.getEquity(player), 0.01);
+        }
+    }
+
+    @Test
+    void completeBoardIsScoredOnce() {
+        List<Card> board = List.of(Card.parse("2D"), Card.parse("9D"), Card.parse("TC"), Card.parse("JS"), Card.parse("3H"));
+        EquityResult result = calculator.enumerate(List.of(hand("AS", "AH"), hand("KS", "KH")), board);
+        assertEquals(1, result.getTrials());
+        assertEquals(1.0, result.getEquity(0));
+    }
+
+    @Test
+    void rejectsDuplicateCards() {
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.enumerate(List.of(hand("AS", "AH"), hand("AS", "KH")), List.of()));
+    }
+
+    private static List<Card> hand(String first, String second) {
+        return List.of(Card.parse(first), Card.parse(second));
+    }
+}
@@ -0,0 +1,128 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEventDispatcherTest {
+
+    private static PokerGame table(int players, long seed) {
+        List<PokerAI> ais = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            ais.add(new PokerAI("AI Player " + (i + 1), 1_000_000, 50, 50, 0, 50));
+        }
+        PokerGame game = new PokerGame(ais, 5, 10);
+        game.setSeed(seed);
+        return game;
+    }
+
+    // Counts events and gap markers, and releases the latch once the expected number of hands has ended
+    private static class CountingListener implements PokerGameListener {
+        final AtomicLong events = new AtomicLong();
+        final AtomicLong markedDrops = new AtomicLong();
+        final AtomicLong markers = new AtomicLong();
+        final List<GameEvent> received = new ArrayList<>(); // only touched by the delivery thread
+        final CountDownLatch handsEnded;
+
+        CountingListener(int hands) {
+            handsEnded = new CountDownLatch(hands);
+        }
+
+        @Override
+        public void onEvents(List<GameEvent> batch) {
+            if (received.size() < 1000) {
+                received.addAll(batch);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                GameEvent event = batch.get(i);
+                if (event instanceof GameEvent.EventsDropped) {
+                    // The event after the gap comes with the marker, unless nothing has arrived since
+                    if (i + 1 < batch.size()) {
+                        assertEquals(event.getHandNumber(), batch.get(i + 1).getHandNumber());
+                    }
+                    markers.incrementAndGet();
+                    markedDrops.addAndGet(((GameEvent.EventsDropped) event).getCount());
+                    continue;
+                }
+                events.incrementAndGet();
+                if (event.getType() == GameEvent.Type.HAND_ENDED) {
+                    handsEnded.countDown();
+                }
+            }
+        }
+    }
+
+    @Test
+    void eventsArriveInOrder() throws Exception {
+        PokerGame game = table(4, 7);
+        CountingListener listener = new CountingListener(3);
+        game.addListener(listener);
+        for (int hand = 0; hand < 3; hand++) {
+            game.playHand();
+        }
+        assertTrue(listener.handsEnded.await(5, TimeUnit.SECONDS));
+        game.removeListener(listener);
+
+        assertEquals(GameEvent.Type.HAND_STARTED, listener.received.get(0).getType());
+        long hand = listener.received.get(0).getHandNumber();
+        for (GameEvent event : listener.received) {
+            assertTrue(event.getHandNumber() >= hand, event.toString());
+            hand = event.getHandNumber();
+        }
+        assertEquals(0, game.getDroppedEventCount());
+    }
+
+    @Test
+    void stalledListenerDropsInsteadOfQueueingForever() throws Exception {
+        int hands = 2000;
+        PokerGame game = table(6, 11);
+        CountDownLatch release = new CountDownLatch(1);
+        CountingListener fast = new CountingListener(hands);
+        CountingListener stalled = new CountingListener(0) {
+            @Override
+            public void onEvents(List<GameEvent> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onEvents(batch);
+            }
+        };
+        game.addListener(fast);
+        game.addListener(stalled);
+        for (int hand = 0; hand < hands; hand++) {
+            game.playHand();
+        }
+        assertTrue(fast.handsEnded.await(10, TimeUnit.SECONDS));
+        long published = fast.events.get();
+        assertTrue(published > GameEventDispatcher.QUEUE_CAPACITY, "only " + published + " events");
+
+        // The game never waited for the stalled listener; it lost what did not fit in its queue
+        long dropped = game.getDroppedEventCount();
+        assertTrue(dropped > 0);
+        release.countDown();
+        game.removeListener(stalled);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((stalled.events.get() + dropped < published || stalled.markedDrops.get() < dropped)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(published, stalled.events.get() + dropped);
+        // One batch taken before the listener stalled, plus a full queue
+        assertTrue(stalled.events.get() <= 2 * GameEventDispatcher.QUEUE_CAPACITY);
+
+        // The stalled listener was told about every event it missed, and the fast one about none
+        assertTrue(stalled.markers.get() > 0);
+        assertEquals(dropped, stalled.markedDrops.get());
+        assertEquals(0, fast.markers.get());
+        game.removeListener(fast);
+    }
+}
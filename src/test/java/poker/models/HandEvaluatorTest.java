@@ -0,0 +1,73 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HandEvaluatorTest {
+
+    // One hand per category, weakest first
+    private static final String[][] HANDS_BY_CATEGORY = {
+            {"AS", "KD", "9H", "7C", "4S", "3D", "2H"}, // high card
+            {"AS", "AD", "9H", "7C", "4S", "3D", "2H"}, // one pair
+            {"AS", "AD", "9H", "9C", "4S", "3D", "2H"}, // two pair
+            {"AS", "AD", "AH", "9C", "4S", "3D", "2H"}, // three of a kind
+            {"AS", "2D", "3H", "4C", "5S", "9D", "KH"}, // straight, the wheel
+            {"AH", "9H", "7H", "4H", "2H", "3D", "KS"}, // flush
+            {"AS", "AD", "AH", "9C", "9S", "3D", "2H"}, // full house
+            {"AS", "AD", "AH", "AC", "4S", "3D", "2H"}, // four of a kind
+            {"9H", "8H", "7H", "6H", "5H", "AD", "AS"}, // straight flush
+    };
+
+    @Test
+    void categoriesAreOrdered() {
+        int previous = -1;
+        for (int category = 0; category < HANDS_BY_CATEGORY.length; category++) {
+            int value = HandEvaluator.evaluate(mask(HANDS_BY_CATEGORY[category]));
+            assertEquals(category, HandEvaluator.getCategory(value), String.join(" ", HANDS_BY_CATEGORY[category]));
+            assertTrue(value > previous, "category " + category + " must beat the one below it");
+            previous = value;
+        }
+    }
+
+    @Test
+    void kickersBreakTies() {
+        int aceKicker = HandEvaluator.evaluate(mask("KS", "KD", "AH", "7C", "4S"));
+        int queenKicker = HandEvaluator.evaluate(mask("KH", "KC", "QH", "7D", "4D"));
+        assertTrue(aceKicker > queenKicker);
+        assertEquals(HandEvaluator.evaluate(mask("2S", "3S", "4D", "5C", "7H")),
+                HandEvaluator.evaluate(mask("2H", "3H", "4C", "5D", "7S")));
+    }
+
+    @Test
+    void sharedBoardEvaluationMatchesFullEvaluation() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int trial = 0; trial < 100_000; trial++) {
+            long cards = 0L;
+            while (Long.bitCount(cards) < 7) {
+                cards |= Card.of(random.nextInt(Card.DECK_SIZE)).getMask();
+            }
+            int ranks = (int) ((cards | cards >>> 16 | cards >>> 32 | cards >>> 48) & 0x1FFF);
+            int flushSuit = -1;
+            for (int suit = 0; suit < Card.SUIT_COUNT; suit++) {
+                if (Long.bitCount((cards >>> (suit * 16)) & 0x1FFF) >= 5) {
+                    flushSuit = suit;
+                }
+            }
+            assertEquals(HandEvaluator.evaluate(cards), HandEvaluator.evaluate(cards, ranks, flushSuit));
+        }
+    }
+
+    private static long mask(String... cards) {
+        List<Card> parsed = new ArrayList<>();
+        for (String card : cards) {
+            parsed.add(Card.parse(card));
+        }
+        return Card.maskOf(parsed);
+    }
+}
@@ -0,0 +1,39 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OpponentModelTest {
+
+    private static List<PokerAI> table() {
+        return List.of(new PokerAI("AI Player 1", 1000, 50, 50, 0, 50), new PokerAI("AI Player 2", 1000, 50, 50, 0, 50));
+    }
+
+    @Test
+    void sameNamedPlayersAtDifferentTablesAreTrackedSeparately() {
+        OpponentModel model = new OpponentModel();
+        List<PokerAI> first = table();
+        List<PokerAI> second = table();
+        PokerGame firstGame = new PokerGame(first, 5, 10);
+        PokerGame secondGame = new PokerGame(second, 5, 10);
+        firstGame.setSeed(1);
+        secondGame.setSeed(2);
+        firstGame.trackOpponents(model);
+        secondGame.trackOpponents(model);
+
+        for (int hand = 0; hand < 3; hand++) {
+            firstGame.playHand();
+        }
+        secondGame.playHand();
+
+        assertEquals(4, model.getPlayers().size());
+        assertEquals(3, model.statsFor(first.get(0)).getHands());
+        assertEquals(1, model.statsFor(second.get(0)).getHands());
+        assertEquals(8, model.getPopulation().getHands());
+        assertSame(model.statsFor(first.get(1)), first.get(0).getOpponentStats(1));
+    }
+}
@@ -0,0 +1,30 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PlayerTest {
+
+    @Test
+    void handOnlyChangesThroughThePlayer() {
+        Player player = new Player("Hero", 100);
+        Card ace = Card.parse("AS");
+        Card king = Card.parse("KD");
+        player.addCardToHand(ace);
+        player.addCardToHand(king);
+        assertEquals(List.of(ace, king), player.getHand());
+        assertEquals(ace.getMask() | king.getMask(), player.getHandMask());
+
+        assertThrows(UnsupportedOperationException.class, () -> player.getHand().add(Card.parse("2C")));
+        assertThrows(UnsupportedOperationException.class, () -> player.getCards().clear());
+        assertEquals(ace.getMask() | king.getMask(), player.getHandMask());
+
+        player.resetForNewHand();
+        assertEquals(List.of(), player.getHand());
+        assertEquals(0L, player.getHandMask());
+    }
+}
@@ -0,0 +1,92 @@
+package poker.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PokerGameTest {
+
+    // Shoves every hand, so each seat ends up all-in for its whole stack
+    private static class AllInAI extends PokerAI {
+        AllInAI(String name, int chips) {
+            super(name, chips, 50, 50, 0, 50);
+        }
+
+        @Override
+        public String decideAction(int currentBet, int pot, int position, List<Card> communityCards) {
+            return "raise";
+        }
+
+        @Override
+        public int decideRaiseAmount(int pot) {
+            return 1_000_000;
+        }
+    }
+
+    @Test
+    void sidePotsArePaidByEligibility() {
+        int checkedHands = 0;
+        for (long seed = 0; checkedHands < 50; seed++) {
+            List<PokerAI> players = List.of(new AllInAI("Short", 100), new AllInAI("Middle", 300), new AllInAI("Big", 600));
+            PokerGame game = new PokerGame(players, 5, 10);
+            game.setSeed(seed);
+            game.playHand();
+
+            long board = Card.maskOf(game.getCommunityCards());
+            int shortValue = HandEvaluator.evaluate(players.get(0).getHandMask() | board);
+            int middleValue = HandEvaluator.evaluate(players.get(1).getHandMask() | board);
+            int bigValue = HandEvaluator.evaluate(players.get(2).getHandMask() | board);
+            if (shortValue == middleValue || shortValue == bigValue || middleValue == bigValue) {
+                continue; // split pots are covered by the engine's odd-chip rule, not by this check
+            }
+
+            // Main pot of 3 x 100 for everyone, side pot of 2 x 200 without the short stack,
+            // and the big stack's uncalled 300 goes back to it
+            int[] expected = {0, 0, 300};
+            int mainWinner = shortValue > Math.max(middleValue, bigValue) ? 0 : middleValue > bigValue ? 1 : 2;
+            expected[mainWinner] += 300;
+            expected[middleValue > bigValue ? 1 : 2] += 400;
+
+            for (int seat = 0; seat < 3; seat++) {
+                assertEquals(expected[seat], players.get(seat).getChips(), "seed " + seed + ", seat " + seat);
+            }
+            checkedHands++;
+        }
+    }
+
+    @Test
+    void chipsAreConserved() {
+        List<PokerAI> players = List.of(new AllInAI("A", 250), new AllInAI("B", 500), new AllInAI("C", 750), new AllInAI("D", 1000));
+        PokerGame game = new PokerGame(players, 5, 10);
+        game.setSeed(7);
+        for (int hand = 0; hand < 20; hand++) {
+            if (players.stream().filter(p -> p.getChips() > 0).count() < 2) {
+                break;
+            }
+            game.playHand();
+            assertEquals(2500, players.stream().mapToInt(Player::getChips).sum());
+        }
+    }
+
+    @Test
+    void handSeedsComeFromTheConfiguredGenerator() {
+        List<PokerAI> players = List.of(new AllInAI("A", 1000), new AllInAI("B", 1000), new AllInAI("C", 1000));
+        PokerGame game = new PokerGame(players, 5, 10);
+        game.setRandom(new SplittableRandom(3));
+        game.playHand();
+        assertEquals(new SplittableRandom(3).nextLong(), game.getHandSeed());
+
+        // The hand seed alone deals the same cards again
+        List<PokerAI> replayPlayers = List.of(new AllInAI("A", 1000), new AllInAI("B", 1000), new AllInAI("C", 1000));
+        PokerGame replay = new PokerGame(replayPlayers, 5, 10);
+        replay.setNextHandSeed(game.getHandSeed());
+        replay.playHand();
+        assertEquals(game.getCommunityCards(), replay.getCommunityCards());
+        for (int seat = 0; seat < players.size(); seat++) {
+            assertEquals(players.get(seat).getHandMask(), replayPlayers.get(seat).getHandMask());
+        }
+    }
+}
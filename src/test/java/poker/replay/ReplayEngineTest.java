@@ -0,0 +1,89 @@
+package poker.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.history.HandHistoryReader;
+import poker.history.HandHistoryWriter;
+import poker.history.RecordedHand;
+import poker.history.RecordedHands;
+import poker.models.ActionType;
+import poker.models.PokerAI;
+import poker.models.PokerGame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayEngineTest {
+
+    @TempDir
+    Path directory;
+
+    // Records hands of a six-handed table with mixed personalities
+    private void record(int hands) throws IOException {
+        Random personalities = new Random(17);
+        List<PokerAI> players = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            players.add(new PokerAI("AI Player " + (i + 1), 5000, personalities.nextInt(101),
+                    personalities.nextInt(101), personalities.nextInt(31), personalities.nextInt(101)));
+        }
+        PokerGame game = new PokerGame(players, 10, 20);
+        game.setSeed(23);
+        try (HandHistoryWriter writer = new HandHistoryWriter(directory)) {
+            game.addObserver(writer.newRecorder());
+            for (int hand = 0; hand < hands && players.stream().filter(p -> p.getChips() > 0).count() > 1; hand++) {
+                game.playHand();
+            }
+        }
+    }
+
+    @Test
+    void recordedHandsReplayWithoutDivergence() throws IOException {
+        record(300);
+        ReplayEngine.Report report = new ReplayEngine().replay(directory);
+        assertTrue(report.getHands() > 100, report.toString());
+        assertTrue(report.isIdentical(), report.getDivergences().toString());
+    }
+
+    @Test
+    void changedActionIsReportedAtItsHandAndSeat() throws IOException {
+        record(50);
+        List<RecordedHand> hands = new ArrayList<>();
+        HandHistoryReader.forEachHand(directory, hands::add);
+
+        // Record a call for one chip more than was actually called
+        RecordedHand changed = null;
+        RecordedHand.Action original = null;
+        for (RecordedHand hand : hands) {
+            List<RecordedHand.Action> actions = hand.getActions();
+            for (int i = 0; i < actions.size() && changed == null; i++) {
+                if (actions.get(i).getType() == ActionType.CALL && actions.get(i).getAmount() > 0) {
+                    original = actions.get(i);
+                    RecordedHands.changeAction(hand, i, ActionType.CALL, original.getAmount() + 1);
+                    changed = hand;
+                }
+            }
+        }
+        assertNotNull(changed, "no hand with a call to change");
+
+        ReplayEngine engine = new ReplayEngine();
+        for (RecordedHand hand : hands) {
+            Divergence divergence = engine.replay(hand);
+            if (hand == changed) {
+                assertNotNull(divergence);
+                assertEquals(hand.getHandNumber(), divergence.getHandNumber());
+                assertTrue(divergence.getDescription().startsWith("seat " + original.getSeat() + " played CALL "
+                        + original.getAmount()), divergence.toString());
+            } else {
+                assertNull(divergence, hand.getHandNumber() + " should replay unchanged");
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package poker.sim;
+
+import org.junit.jupiter.api.Test;
+import poker.models.Card;
+import poker.models.PokerAI;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableManagerTest {
+
+    // Fails on its first decision with an Error rather than an exception
+    private static class BrokenAI extends PokerAI {
+        BrokenAI() {
+            super("Broken", 1000, 50, 50, 0, 50);
+        }
+
+        @Override
+        public String decideAction(int currentBet, int pot, int position, List<Card> communityCards) {
+            throw new AssertionError("broken seat");
+        }
+    }
+
+    @Test
+    void tablesPlayTheirHands() throws InterruptedException {
+        try (TableManager manager = new TableManager(2, 16)) {
+            for (int i = 0; i < 4; i++) {
+                manager.addTable(HeadlessSimulator.withRandomPlayers(4, 1000, 5, 10, i), 100);
+            }
+            manager.awaitTables();
+            TableManager.Report report = manager.getReport();
+            assertEquals(4, report.getTables());
+            assertEquals(0, report.getRunningTables());
+            assertEquals(400, report.getHands());
+        }
+    }
+
+    @Test
+    void tableStoppedByAnErrorStillFinishes() throws InterruptedException {
+        try (TableManager manager = new TableManager(1, 16)) {
+            TableManager.Table broken = manager.addTable(
+                    new HeadlessSimulator(List.of(new BrokenAI(), new BrokenAI()), 1000, 5, 10), 100);
+            TableManager.Table healthy = manager.addTable(HeadlessSimulator.withRandomPlayers(3, 1000, 5, 10, 1), 50);
+
+            assertTrue(manager.awaitTermination(Duration.ofSeconds(10)), "awaitTermination timed out");
+            assertTrue(broken.isFinished());
+            assertInstanceOf(AssertionError.class, broken.getFailure());
+            assertEquals(50, healthy.getHandsPlayed());
+            assertEquals(1, manager.getReport().getFailedTables());
+        }
+    }
+}